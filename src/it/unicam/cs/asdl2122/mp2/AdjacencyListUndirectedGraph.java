@@ -0,0 +1,502 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.*;
+
+// ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato tramite liste di adiacenza.
+ * Non sono accettate etichette dei nodi null e non sono accettate etichette
+ * duplicate nei nodi (che in quel caso sono lo stesso nodo).
+ *
+ * Il contratto è lo stesso di {@code AdjacencyMatrixUndirectedGraph<L>}: i
+ * nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento e, dopo la cancellazione di un nodo, gli indici dei nodi
+ * successivi vengono decrementati di uno. Gli algoritmi che lavorano su
+ * {@code Graph<L>} possono quindi usare indifferentemente le due
+ * rappresentazioni.
+ *
+ * A differenza della matrice di adiacenza, ad ogni nodo è associata una mappa
+ * che contiene solo i nodi effettivamente adiacenti, ognuno associato
+ * all'arco che lo collega. La memoria occupata è quindi O(n + m) e le
+ * operazioni sui vicini di un nodo costano O(grado del nodo) invece di O(n).
+ * Ogni arco non orientato è registrato nella mappa di entrambi i nodi che
+ * collega (una sola volta se è un cappio). Come nella matrice di adiacenza,
+ * una mappa dalle etichette agli indici permette ai metodi che ricevono
+ * un'etichetta di non creare un GraphNode temporaneo.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class AdjacencyListUndirectedGraph<L> extends Graph<L> {
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Associazione inversa: in posizione i si trova il nodo con indice i
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione di ogni etichetta con l'indice del nodo che la porta
+     */
+    protected Map<L, Integer> labelsIndex;
+
+    /*
+     * Liste di adiacenza: in posizione i si trova la mappa che associa ad ogni
+     * nodo adiacente al nodo con indice i l'arco che li collega
+     */
+    protected ArrayList<Map<GraphNode<L>, GraphEdge<L>>> adjacency;
+
+    /*
+     * Numero di archi attualmente presenti nel grafo
+     */
+    protected int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public AdjacencyListUndirectedGraph() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labelsIndex = new HashMap<L, Integer>();
+        this.adjacency = new ArrayList<Map<GraphNode<L>, GraphEdge<L>>>();
+        this.edges = 0;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodesIndex.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edges;
+    }
+
+    @Override
+    public void clear() {
+        nodesIndex.clear();
+        nodes.clear();
+        labelsIndex.clear();
+        adjacency.clear();
+        edges = 0;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo da aggiungere è null");
+
+        if (nodesIndex.containsKey(node)) return false;
+        //Il nuovo nodo prende l'indice successivo all'ultimo e parte senza vicini
+        nodesIndex.put(node, nodes.size());
+        labelsIndex.put(node.getLabel(), nodes.size());
+        nodes.add(node);
+        adjacency.add(new HashMap<GraphNode<L>, GraphEdge<L>>());
+        return true;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(L label) {
+        if (label == null) throw new NullPointerException("Label di addNode null");
+        //Se l'etichetta è già presente evito di creare il nodo
+        if (labelsIndex.containsKey(label)) return false;
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo del removeNode è null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo del removeNode non fa " +
+                "parte del grafo");
+
+        int index = nodesIndex.remove(node);
+        labelsIndex.remove(node.getLabel());
+        Map<GraphNode<L>, GraphEdge<L>> neighbours = adjacency.get(index);
+        //Tolgo gli archi dalle liste dei vicini, il costo è proporzionale al grado del nodo
+        for (GraphNode<L> n : neighbours.keySet()) {
+            if (!n.equals(node)) adjacency.get(nodesIndex.get(n)).remove(node);
+        }
+        edges -= neighbours.size();
+        nodes.remove(index);
+        adjacency.remove(index);
+        //Aggiorno gli indici dei soli nodi successivi a quello rimosso
+        for (int i = index; i < nodes.size(); i++) {
+            nodesIndex.put(nodes.get(i), i);
+            labelsIndex.put(nodes.get(i).getLabel(), i);
+        }
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(L label) {
+        if (label == null) throw new NullPointerException("Il label di removeNode è null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Nessun nodo del grafo ha l'etichetta data");
+        removeNode(nodes.get(index));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(int i) {
+        //Eventuali eccezioni generate dall'indice vengono lanciate da getNode
+        removeNode(getNode(i));
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo del getNode è null");
+        Integer index = nodesIndex.get(node);
+        //Restituisco l'istanza memorizzata nel grafo, non quella passata
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label) {
+        if (label == null) throw new NullPointerException("Etichetta di getNode null");
+        Integer index = labelsIndex.get(label);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice fuori dall'intervallo [0, this.nodeCount() - 1]");
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Node del getNodeIndexOf null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null) throw new NullPointerException("label di getNodeIndexOf null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Arco del addEdge null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi dell'arco in addEdge non esiste nel grafo");
+        if (isDirected() != edge.isDirected()) throw new IllegalArgumentException("l'arco è orientato e questo grafo " +
+                "non è orientato o viceversa");
+
+        int index1 = nodesIndex.get(edge.getNode1());
+        int index2 = nodesIndex.get(edge.getNode2());
+        //Controllo se l'arco già esiste
+        if (adjacency.get(index1).containsKey(edge.getNode2())) return false;
+        //Registro l'arco nelle liste di entrambi i nodi usando come chiavi le istanze memorizzate nel grafo, se
+        //l'arco fosse un cappio la seconda put sovrascrive la prima con lo stesso valore
+        adjacency.get(index1).put(nodes.get(index2), edge);
+        adjacency.get(index2).put(nodes.get(index1), edge);
+        edges++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Uno dei due nodi dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+                                   double weight) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Uno dei due nodi dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(node1, node2, isDirected(), weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle due etichette dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(new GraphNode<>(label1), new GraphNode<>(label2), isDirected()));
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle due etichette dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(new GraphNode<>(label1), new GraphNode<>(label2), isDirected(), weight));
+    }
+
+    @Override
+    public boolean addEdge(int i, int j) {
+        //Eccezioni controllate da addWeightedEdge(int, int, double)
+        return addWeightedEdge(i, j, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight) {
+        //Eventuali eccezioni generate dagli indici vengono lanciate da getNode.
+        GraphNode<L> node1 = getNode(i);
+        GraphNode<L> node2 = getNode(j);
+        //Conosco già gli indici, quindi non passo da nodesIndex e creo l'arco solo se non esiste
+        if (adjacency.get(i).containsKey(node2)) return false;
+        GraphEdge<L> edge = new GraphEdge<L>(node1, node2, isDirected(), weight);
+        adjacency.get(i).put(node2, edge);
+        adjacency.get(j).put(node1, edge);
+        edges++;
+        return true;
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("L'arco di removeEdge è null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi dell'arco non appartengono al grafo");
+
+        int index1 = nodesIndex.get(edge.getNode1());
+        int index2 = nodesIndex.get(edge.getNode2());
+        if (adjacency.get(index1).remove(edge.getNode2()) == null)
+            throw new IllegalArgumentException("l'arco non esiste nel grafo");
+        adjacency.get(index2).remove(edge.getNode1());
+        edges--;
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Almeno uno dei nodi di removeEdge è null");
+        //Le altre eccezioni vengono controllate dal primo removeEdge
+        removeEdge(new GraphEdge<L>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle etichette di removeEdge è null");
+        //Altre eccezioni controllate da removeEdge(GraphEdge)
+        removeEdge(new GraphEdge<L>(new GraphNode<>(label1), new GraphNode<>(label2), isDirected()));
+    }
+
+    @Override
+    public void removeEdge(int i, int j) {
+        //Eventuali eccezioni vengono lanciate da getNode.
+        removeEdge(new GraphEdge<L>(getNode(i), getNode(j), isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Edge di getEdge null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi non esiste nel grafo");
+        //Se l'arco non c'è la mappa restituisce null
+        return adjacency.get(nodesIndex.get(edge.getNode1())).get(edge.getNode2());
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Almeno uno dei nodi di getEdge è null");
+        //Altre eccezioni controllate da getEdge(edge)
+        return getEdge(new GraphEdge<L>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2) {
+        if (label1 == null || label2 == null) throw new NullPointerException("Almeno una etichetta di getEdge è null");
+        //Altre eccezioni controllate da getEdge(edge)
+        return getEdge(new GraphEdge<L>(new GraphNode<L>(label1), new GraphNode<L>(label2), isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j) {
+        //Eventuali eccezioni vengono lanciate da getNode.
+        GraphNode<L> node1 = getNode(i);
+        GraphNode<L> node2 = getNode(j);
+        return adjacency.get(nodesIndex.get(node1)).get(node2);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo di getAdjacentNodesOf è null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo non esiste");
+        //Le chiavi della mappa sono esattamente i nodi adiacenti
+        return new HashSet<GraphNode<L>>(adjacency.get(nodesIndex.get(node)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
+        if (label == null) throw new NullPointerException("Etichetta null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste");
+        return new HashSet<GraphNode<L>>(adjacency.get(index).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
+        //Eventuali eccezioni generate dall'indice i vengono lanciate da getNode(i)
+        return getAdjacentNodesOf(getNode(i));
+    }
+
+    /*
+     * Visita la mappa dei vicini del nodo senza copiarla in un nuovo insieme
+     */
+    @Override
+    public void forEachNeighbour(int i, IntDoubleConsumer action) {
+        if (action == null) throw new NullPointerException("Operazione null");
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+        for (Map.Entry<GraphNode<L>, GraphEdge<L>> entry : adjacency.get(i).entrySet()) {
+            action.accept(nodesIndex.get(entry.getKey()), entry.getValue().getWeight());
+        }
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("nodo null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Nodo non presente");
+        return new HashSet<GraphEdge<L>>(adjacency.get(nodesIndex.get(node)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label) {
+        if (label == null) throw new NullPointerException("etichetta nulla");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Nodo non presente");
+        return new HashSet<GraphEdge<L>>(adjacency.get(index).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i) {
+        //Eventuali eccezioni generate dall'indice i vengono lanciate da getNode(i)
+        return getEdgesOf(getNode(i));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    /*
+     * Il grado coincide con la dimensione della lista di adiacenza del nodo,
+     * non serve costruire l'insieme dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di calcolare il grado di un nodo null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Tentativo di calcolare il grado di un nodo non " +
+                "presente in questo grafo");
+        return adjacency.get(index).size();
+    }
+
+    /*
+     * Il grado coincide con la dimensione della lista di adiacenza del nodo,
+     * non serve costruire l'insieme dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(L label) {
+        if (label == null) throw new NullPointerException("Tentativo di calcolare il grado di un nodo null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Tentativo di calcolare il grado di un nodo non " +
+                "presente in questo grafo");
+        return adjacency.get(index).size();
+    }
+
+    /*
+     * Il grado coincide con la dimensione della lista di adiacenza del nodo,
+     * non serve costruire l'insieme dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Tentativo di calcolare il grado di un nodo con indice non valido");
+        return adjacency.get(i).size();
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        //Ogni arco compare nelle liste di entrambi i suoi nodi, il set elimina i duplicati
+        for (Map<GraphNode<L>, GraphEdge<L>> neighbours : adjacency) {
+            result.addAll(neighbours.values());
+        }
+        return result;
+    }
+}
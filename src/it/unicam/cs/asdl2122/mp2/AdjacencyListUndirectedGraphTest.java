@@ -0,0 +1,88 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe AdjacencyListUndirectedGraph.
+ * 
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ */
+class AdjacencyListUndirectedGraphTest extends AbstractUndirectedGraphTest {
+
+    @Override
+    Graph<String> createGraph() {
+        return new AdjacencyListUndirectedGraph<String>();
+    }
+
+    @Test
+    final void testAdjacencyListUndirectedGraph() {
+        Graph<String> g = new AdjacencyListUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testEdgeCountAfterRemoveNode() {
+        Graph<String> g = new AdjacencyListUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addEdge("a", "b");
+        g.addEdge("a", "a");
+        g.addEdge("b", "c");
+        assertEquals(3, g.edgeCount());
+        g.removeNode("a");
+        assertEquals(1, g.edgeCount());
+        Set<GraphNode<String>> adjNodes = new HashSet<GraphNode<String>>();
+        adjNodes.add(new GraphNode<String>("c"));
+        assertTrue(g.getAdjacentNodesOf("b").equals(adjNodes));
+        g.removeEdge("c", "b");
+        assertEquals(0, g.edgeCount());
+        assertTrue(g.getEdges().isEmpty());
+    }
+
+    @Test
+    final void testAlgorithms() {
+        Graph<String> gr = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 3));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, c, false));
+        result.add(new GraphEdge<String>(b, c, false));
+        result.add(new GraphEdge<String>(d, e, false));
+        assertTrue(new KruskalMSP<String>().computeMSP(gr).equals(result));
+        new PrimMSP<String>().computeMSP(gr, a);
+        assertTrue(a.getPrevious() == null);
+        assertTrue(c.getPrevious() == a);
+        assertTrue(b.getPrevious() == c);
+        Set<Set<GraphNode<String>>> components = new HashSet<>();
+        Set<GraphNode<String>> comp1 = new HashSet<GraphNode<String>>();
+        comp1.add(a);
+        comp1.add(b);
+        comp1.add(c);
+        components.add(comp1);
+        Set<GraphNode<String>> comp2 = new HashSet<GraphNode<String>>();
+        comp2.add(d);
+        comp2.add(e);
+        components.add(comp2);
+        assertTrue(new UndirectedGraphConnectedComponentsComputer<String>()
+                .computeConnectedComponents(gr).equals(components));
+    }
+
+}
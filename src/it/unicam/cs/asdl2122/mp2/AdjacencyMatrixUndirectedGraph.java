@@ -19,9 +19,23 @@ import java.util.*;
  * ad ogni inserimento di un nodo. Per questo non è rappresentata tramite array
  * ma tramite ArrayList.
  *
+ * Per non dover allungare tutte le righe ad ogni inserimento, ogni riga è
+ * memorizzata solo fino alla sua ultima cella scritta: le celle oltre la fine
+ * di una riga valgono null. Un nuovo nodo aggiunge quindi una riga vuota in
+ * tempo costante ammortizzato e le righe crescono, raddoppiando la capacità
+ * come ogni ArrayList, solo quando vi si inserisce un arco. Se il numero di
+ * nodi è noto in anticipo lo si può indicare al costruttore o a
+ * {@code ensureCapacity(int)} per evitare anche le riallocazioni delle
+ * strutture indicizzate per nodo.
+ *
  * Gli oggetti GraphNode<L>, cioè i nodi, sono memorizzati in una mappa che
  * associa ad ogni nodo l'indice assegnato in fase di inserimento. Il dominio
- * della mappa rappresenta quindi l'insieme dei nodi.
+ * della mappa rappresenta quindi l'insieme dei nodi. Una lista mantiene
+ * l'associazione inversa, dall'indice al nodo, in modo che tutti i metodi che
+ * usano indici trovino il nodo corrispondente in tempo costante. Infine una
+ * seconda mappa associa ogni etichetta all'indice del suo nodo, così che i
+ * metodi che ricevono un'etichetta non debbano creare un GraphNode temporaneo
+ * per cercarlo.
  *
  * Gli archi sono memorizzati nella matrice di adiacenza. A differenza della
  * rappresentazione standard con matrice di adiacenza, la posizione i,j della
@@ -35,6 +49,15 @@ import java.util.*;
  * supporta tutti i metodi che usano indici, utilizzando l'indice assegnato a
  * ogni nodo in fase di inserimento.
  *
+ * Per default la cancellazione di un nodo decrementa di uno gli indici dei
+ * nodi successivi, e questo richiede di spostare Θ(n^2) celle della matrice.
+ * Con il costruttore {@code AdjacencyMatrixUndirectedGraph(boolean)} si può
+ * scegliere invece la cancellazione per scambio con l'ultimo: l'ultimo nodo
+ * prende l'indice del nodo cancellato e la sua riga e la sua colonna vengono
+ * spostate al posto di quelle cancellate, con un costo O(n). In questo caso
+ * l'indice di tutti gli altri nodi resta invariato, mentre quello dell'ultimo
+ * nodo cambia, come si può osservare tramite {@code getNodeIndexOf}.
+ *
  * @author Luca Tesei (template) Enrico Ulissi enrico.ulissi@studenti.unicam.it (implementazione)
  *
  *
@@ -51,20 +74,158 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     protected Map<GraphNode<L>, Integer> nodesIndex;
 
+    /*
+     * Associazione inversa di nodesIndex: in posizione i si trova il nodo con
+     * indice i. Va mantenuta allineata a nodesIndex in ogni operazione che
+     * aggiunge o rimuove nodi.
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione di ogni etichetta con l'indice del nodo che la porta. Va
+     * mantenuta allineata a nodesIndex come la lista nodes.
+     */
+    protected Map<L, Integer> labelsIndex;
+
     /*
      * Matrice di adiacenza, gli elementi sono null o oggetti della classe
      * GraphEdge<L>. L'uso di ArrayList permette alla matrice di aumentare di
      * dimensione gradualmente ad ogni inserimento di un nuovo nodo e di
-     * ridimensionarsi se un nodo viene cancellato.
+     * ridimensionarsi se un nodo viene cancellato. Le righe possono essere più
+     * corte di nodeCount(): le celle mancanti valgono null e vanno lette e
+     * scritte tramite cell e setCell.
      */
     protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
 
+    /*
+     * Numero di archi attualmente presenti nel grafo, aggiornato da ogni
+     * operazione che aggiunge o toglie archi
+     */
+    protected int edges;
+
+    /*
+     * Grado di ogni nodo: in posizione i si trova il numero di archi collegati
+     * al nodo con indice i, dove un cappio conta una volta sola come in
+     * getEdgesOf. Solo le prime nodeCount() posizioni sono significative.
+     */
+    protected int[] degrees;
+
+    /*
+     * Se true la cancellazione di un nodo sposta l'ultimo nodo nell'indice
+     * liberato invece di scalare tutti i successivi
+     */
+    protected boolean swapOnRemove;
+
+    /*
+     * Numero di nodi per cui nodesIndex e labelsIndex sono stati
+     * dimensionati: fino a questo numero di nodi non vengono ricostruite
+     */
+    private int indexCapacity;
+
     /**
      * Crea un grafo vuoto.
      */
     public AdjacencyMatrixUndirectedGraph() {
-        this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>();
-        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this(false);
+    }
+
+    /**
+     * Crea un grafo vuoto scegliendo come vengono riassegnati gli indici
+     * quando si cancella un nodo.
+     *
+     * @param swapOnRemove
+     *                         se true, quando si cancella un nodo l'ultimo
+     *                         nodo prende il suo indice e gli altri indici
+     *                         non cambiano (cancellazione in tempo O(n)); se
+     *                         false gli indici dei nodi successivi a quello
+     *                         cancellato vengono decrementati di uno, come nel
+     *                         costruttore senza parametri
+     */
+    public AdjacencyMatrixUndirectedGraph(boolean swapOnRemove) {
+        this(0, swapOnRemove);
+    }
+
+    /**
+     * Crea un grafo vuoto predisposto per contenere almeno un certo numero di
+     * nodi senza riallocare le strutture indicizzate per nodo.
+     *
+     * @param expectedNodes
+     *                          il numero di nodi previsto
+     * @param swapOnRemove
+     *                          se true, quando si cancella un nodo l'ultimo
+     *                          nodo prende il suo indice (si veda
+     *                          {@code AdjacencyMatrixUndirectedGraph(boolean)})
+     * @throws IllegalArgumentException
+     *                                      se expectedNodes è negativo
+     */
+    public AdjacencyMatrixUndirectedGraph(int expectedNodes, boolean swapOnRemove) {
+        if (expectedNodes < 0) throw new IllegalArgumentException("Numero di nodi previsto negativo");
+        this.swapOnRemove = swapOnRemove;
+        this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>(expectedNodes);
+        //Dimensiono le mappe in modo che non debbano essere ricostruite prima di expectedNodes inserimenti
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>(mapCapacity(expectedNodes));
+        this.nodes = new ArrayList<GraphNode<L>>(expectedNodes);
+        this.labelsIndex = new HashMap<L, Integer>(mapCapacity(expectedNodes));
+        this.indexCapacity = expectedNodes;
+        this.edges = 0;
+        this.degrees = new int[expectedNodes];
+    }
+
+    /**
+     * Predispone il grafo a contenere almeno un certo numero di nodi senza
+     * riallocare la matrice, la lista dei nodi, i contatori dei gradi e le
+     * mappe dai nodi e dalle etichette agli indici.
+     *
+     * @param nodes
+     *                  il numero minimo di nodi da poter contenere
+     */
+    public void ensureCapacity(int nodes) {
+        matrix.ensureCapacity(nodes);
+        this.nodes.ensureCapacity(nodes);
+        if (nodes > degrees.length) degrees = Arrays.copyOf(degrees, nodes);
+        if (nodes > indexCapacity) {
+            //Ricostruisco le mappe già della dimensione finale: costa quanto un solo ridimensionamento
+            Map<GraphNode<L>, Integer> newNodesIndex = new HashMap<GraphNode<L>, Integer>(mapCapacity(nodes));
+            newNodesIndex.putAll(nodesIndex);
+            nodesIndex = newNodesIndex;
+            Map<L, Integer> newLabelsIndex = new HashMap<L, Integer>(mapCapacity(nodes));
+            newLabelsIndex.putAll(labelsIndex);
+            labelsIndex = newLabelsIndex;
+            indexCapacity = nodes;
+        }
+    }
+
+    /*
+     * Capacità iniziale di una HashMap che deve contenere il numero di chiavi
+     * dato senza essere ridimensionata, con il fattore di carico predefinito
+     */
+    private static int mapCapacity(int keys) {
+        return Math.max(16, (int) (keys / 0.75f) + 1);
+    }
+
+    /*
+     * Restituisce il contenuto della cella i,j della matrice. Le celle oltre la
+     * fine della riga non sono memorizzate e valgono null.
+     */
+    private GraphEdge<L> cell(int i, int j) {
+        ArrayList<GraphEdge<L>> row = matrix.get(i);
+        return j < row.size() ? row.get(j) : null;
+    }
+
+    /*
+     * Scrive nella cella i,j della matrice, allungando la riga con celle null
+     * se è più corta di j + 1.
+     */
+    private void setCell(int i, int j, GraphEdge<L> edge) {
+        ArrayList<GraphEdge<L>> row = matrix.get(i);
+        if (j < row.size()) {
+            row.set(j, edge);
+            return;
+        }
+        //Una cella oltre la fine della riga vale già null
+        if (edge == null) return;
+        while (row.size() < j) row.add(null);
+        row.add(edge);
     }
 
     @Override
@@ -74,13 +235,16 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        return getEdges().size();
+        return edges;
     }
 
     @Override
     public void clear() {
         matrix.clear();
         nodesIndex.clear();
+        nodes.clear();
+        labelsIndex.clear();
+        edges = 0;
     }
 
     @Override
@@ -100,15 +264,13 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         //Il nodo non è presente quindi lo aggiungo in nodesIndex con l'indice aggiornato
         int index = nodesIndex.size();
         nodesIndex.put(node, index);
-        //Aggiungo il nodo alla matrice, inizio aggiungendo l'ultima riga
-        matrix.add(new ArrayList<GraphEdge<L>>());
-        for (int i = 0; i < nodesIndex.size(); i++) {
-            matrix.get(index).add(null);
-        }
-        //Aggiungo una colonna alle righe precedenti
-        for (int i = 0; i < index; i++) {
-            matrix.get(i).add(null);
-        }
+        nodes.add(node);
+        labelsIndex.put(node.getLabel(), index);
+        if (index == degrees.length) degrees = Arrays.copyOf(degrees, Math.max(1, 2 * index));
+        degrees[index] = 0;
+        //Aggiungo il nodo alla matrice con una riga vuota: tutte le sue celle valgono null e la nuova colonna delle
+        //righe precedenti è già implicitamente null
+        matrix.add(new ArrayList<GraphEdge<L>>(0));
         return true;
     }
 
@@ -119,14 +281,16 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     @Override
     public boolean addNode(L label) {
         if (label == null) throw new NullPointerException("Label di addNode null");
-        //Eventuali altre eccezioni saranno lanciate dall'addNode(node)
+        //Se l'etichetta è già presente evito di creare il nodo
+        if (labelsIndex.containsKey(label)) return false;
         return addNode(new GraphNode<>(label));
     }
 
     /*
      * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
      * cancellare devono essere decrementati di uno dopo la cancellazione del
-     * nodo
+     * nodo, a meno che il grafo non sia stato creato con la cancellazione per
+     * scambio con l'ultimo
      */
     @Override
     public void removeNode(GraphNode<L> node) {
@@ -136,38 +300,82 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
         //Prendo l'indice del nodo
         int index = nodesIndex.get(node);
+        //Tolgo dai contatori gli archi del nodo, che spariscono con la sua riga
+        edges -= degrees[index];
+        ArrayList<GraphEdge<L>> removedRow = matrix.get(index);
+        for (int j = 0; j < removedRow.size(); j++) {
+            if (j != index && removedRow.get(j) != null) degrees[j]--;
+        }
         //rimuovo il nodo
         nodesIndex.remove(node);
-        //Aggiorno gli indici
-        for (Map.Entry<GraphNode<L>, Integer> entry : nodesIndex.entrySet()) {
-            if (entry.getValue() > index) {
-                nodesIndex.put(entry.getKey(), entry.getValue() - 1);
-            }
+        labelsIndex.remove(node.getLabel());
+        if (swapOnRemove) {
+            removeBySwap(index);
+            return;
+        }
+        System.arraycopy(degrees, index + 1, degrees, index, nodes.size() - index - 1);
+        nodes.remove(index);
+        //Aggiorno gli indici dei soli nodi successivi a quello rimosso, che sono scalati di una posizione in nodes
+        for (int i = index; i < nodes.size(); i++) {
+            nodesIndex.put(nodes.get(i), i);
+            labelsIndex.put(nodes.get(i).getLabel(), i);
         }
         //Rimuovo la riga del nodo
         matrix.remove(index);
-        //Rimuovo la colonna del nodo rimosso ad ogni riga rimanente
+        //Rimuovo la colonna del nodo rimosso ad ogni riga rimanente che arriva fino a quella colonna
         for (ArrayList<GraphEdge<L>> row : matrix) {
-            row.remove(index);
+            if (index < row.size()) row.remove(index);
+        }
+    }
+
+    /*
+     * Completa la cancellazione del nodo con indice index, già tolto dalle
+     * mappe e dai contatori, spostando l'ultimo nodo nell'indice liberato. Ogni
+     * riga perde solo l'ultimo elemento, quindi non ci sono scorrimenti e il
+     * costo è O(n).
+     */
+    private void removeBySwap(int index) {
+        int last = nodes.size() - 1;
+        if (index != last) {
+            GraphNode<L> moved = nodes.get(last);
+            nodes.set(index, moved);
+            nodesIndex.put(moved, index);
+            labelsIndex.put(moved.getLabel(), index);
+            degrees[index] = degrees[last];
+            //La riga dell'ultimo nodo prende il posto di quella cancellata
+            matrix.set(index, matrix.get(last));
+            //In ogni riga la colonna dell'ultimo nodo prende il posto di quella cancellata, compresa la riga spostata
+            //dove così il cappio dell'ultimo nodo finisce sulla diagonale
+            for (int i = 0; i < last; i++) {
+                setCell(i, index, cell(i, last));
+            }
+        }
+        nodes.remove(last);
+        matrix.remove(last);
+        for (ArrayList<GraphEdge<L>> row : matrix) {
+            if (last < row.size()) row.remove(last);
         }
     }
 
     /*
      * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
      * cancellare devono essere decrementati di uno dopo la cancellazione del
-     * nodo
+     * nodo, a meno che il grafo non sia stato creato con la cancellazione per
+     * scambio con l'ultimo
      */
     @Override
     public void removeNode(L label) {
         if (label == null) throw new NullPointerException("Il laber di removeNode è null");
-        //Altre eccezioni vengono lanciate dal removeNode(node)
-        removeNode(new GraphNode<>(label));
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Nessun nodo del grafo ha l'etichetta data");
+        removeNode(nodes.get(index));
     }
 
     /*
      * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
      * cancellare devono essere decrementati di uno dopo la cancellazione del
-     * nodo
+     * nodo, a meno che il grafo non sia stato creato con la cancellazione per
+     * scambio con l'ultimo
      */
     @Override
     public void removeNode(int i) {
@@ -181,18 +389,17 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     @Override
     public GraphNode<L> getNode(GraphNode<L> node) {
         if (node == null) throw new NullPointerException("Il nodo del getNode è null");
-        //Scorro ogni elemento di nodesIndex e se trovo il nodo ricercato allora lo restituisco
-        for (GraphNode<L> n : nodesIndex.keySet()) {
-            if (node.equals(n)) return n;
-        }
-        //Il nodo non c'è allora restituisco null
-        return null;
+        //Cerco l'indice con una sola ricerca nella mappa e restituisco l'istanza memorizzata nel grafo, null se il
+        //nodo non c'è
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
     }
 
     @Override
     public GraphNode<L> getNode(L label) {
         if (label == null) throw new NullPointerException("Etichetta di getNode null");
-        return getNode(new GraphNode<L>(label));
+        Integer index = labelsIndex.get(label);
+        return index == null ? null : nodes.get(index);
     }
 
     @Override
@@ -200,25 +407,23 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         if (i < 0 || i >= nodeCount())
             throw new IndexOutOfBoundsException("Indice di remove node fuori dall'intervallo" +
                     "[0, this.nodeCount()]");
-
-        for (Map.Entry<GraphNode<L>, Integer> entry : nodesIndex.entrySet()) {
-            if (entry.getValue() == i) return entry.getKey();
-        }
-        return null;
+        return nodes.get(i);
     }
 
     @Override
     public int getNodeIndexOf(GraphNode<L> node) {
         if (node == null) throw new NullPointerException("Node del getNodeIndexOf null");
-        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
-        return nodesIndex.get(node);
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
     }
 
     @Override
     public int getNodeIndexOf(L label) {
         if (label == null) throw new NullPointerException("label di getNodeIndexOf null");
-        //Altre eccezioni controllate da getNodeIndexOf(node)
-        return getNodeIndexOf(new GraphNode<L>(label));
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
     }
 
     @Override
@@ -237,17 +442,27 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         int indexNode1 = nodesIndex.get(edge.getNode1());
         int indexNode2 = nodesIndex.get(edge.getNode2());
         //Controllo se l'arco già esiste
-        if (edge.equals(matrix.get(indexNode1).get(indexNode2)) || edge.equals(matrix.get(indexNode2).get(indexNode1))) {
+        if (edge.equals(cell(indexNode1, indexNode2)) || edge.equals(cell(indexNode2, indexNode1))) {
             return false;
         }
-        //Sono sicuro non esista quindi lo aggiungo nella matrice sia tra node1 e node2 che tra node2 e node1, se l'arco
-        //fosse un cappio il risultato non cambia
-        matrix.get(indexNode1).set(indexNode2, edge);
-        matrix.get(indexNode2).set(indexNode1, edge);
-
+        storeEdge(indexNode1, indexNode2, edge);
         return true;
     }
 
+    /*
+     * Memorizza un arco che si sa non essere presente tra i nodi con indici i
+     * e j, aggiornando i contatori.
+     */
+    private void storeEdge(int i, int j, GraphEdge<L> edge) {
+        //Lo aggiungo nella matrice sia tra node1 e node2 che tra node2 e node1, se l'arco fosse un cappio il risultato
+        //non cambia
+        setCell(i, j, edge);
+        setCell(j, i, edge);
+        edges++;
+        degrees[i]++;
+        if (i != j) degrees[j]++;
+    }
+
     @Override
     public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
         if (node1 == null || node2 == null) throw new NullPointerException("Uno dei due nodi dell'addEdge è null");
@@ -287,11 +502,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public boolean addEdge(int i, int j) {
-        //Eventuali eccezioni generate dagli indici vengono lanciate da getNode.
-        GraphNode<L> node1 = getNode(i);
-        GraphNode<L> node2 = getNode(j);
-        //Eccezioni controllate da addEdge(edge)
-        return addEdge(new GraphEdge<L>(node1, node2, isDirected()));
+        //Eccezioni controllate da addWeightedEdge(int, int, double)
+        return addWeightedEdge(i, j, Double.NaN);
     }
 
     @Override
@@ -299,8 +511,11 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         //Eventuali eccezioni dagli indici vengono lanciate da getNode.
         GraphNode<L> node1 = getNode(i);
         GraphNode<L> node2 = getNode(j);
-        //Eccezioni controllate da addEdge(edge)
-        return addEdge(new GraphEdge<L>(node1, node2, isDirected(), weight));
+        //Conosco già gli indici, quindi controllo direttamente la cella senza passare dalle mappe e creo l'arco solo se
+        //non esiste
+        if (cell(i, j) != null) return false;
+        storeEdge(i, j, new GraphEdge<L>(node1, node2, isDirected(), weight));
+        return true;
     }
 
     @Override
@@ -313,8 +528,11 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         //Prendo gli indici e sostituisco con null le celle matrix[index1][index2] e matrix[index2][index1]
         int index1 = getNodeIndexOf(edge.getNode1());
         int index2 = getNodeIndexOf(edge.getNode2());
-        matrix.get(index1).set(index2, null);
-        matrix.get(index2).set(index1, null);
+        setCell(index1, index2, null);
+        setCell(index2, index1, null);
+        edges--;
+        degrees[index1]--;
+        if (index1 != index2) degrees[index2]--;
     }
 
     @Override
@@ -353,11 +571,11 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         int index1 = getNodeIndexOf(edge.getNode1());
         int index2 = getNodeIndexOf(edge.getNode2());
         //Se il nodo è contenuto nella matrice
-        if (edge.equals(matrix.get(index1).get(index2)) || edge.equals(matrix.get(index2).get(index1))) {
+        if (edge.equals(cell(index1, index2)) || edge.equals(cell(index2, index1))) {
             //Se l'arco è uguale ad uno degli archi tra i due nodi allora ne restituisco uno qualunqe poiché da
             //come è stato implementato l'addEdge uno stesso arco viene inserito nella matrice nelle posizioni
             //(index1, index2) e (index2,index1)
-            return matrix.get(index1).get(index2);
+            return cell(index1, index2);
         }
         //Allora non c'è nessun arco e restituisco null
         return null;
@@ -381,10 +599,11 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public GraphEdge<L> getEdge(int i, int j) {
-        //Eventuali eccezioni vengono lanciate da getNode.
-        GraphNode<L> node1 = getNode(i);
-        GraphNode<L> node2 = getNode(j);
-        return getEdge(new GraphEdge<L>(node1, node2, isDirected()));
+        if (i < 0 || i >= nodeCount() || j < 0 || j >= nodeCount())
+            throw new IndexOutOfBoundsException("Almeno un indice di getEdge è fuori dall'intervallo " +
+                    "[0, this.nodeCount() - 1]");
+        //Gli indici sono validi, la cella della matrice contiene già l'arco cercato oppure null
+        return cell(i, j);
     }
 
     @Override
@@ -392,32 +611,50 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         if (node == null) throw new NullPointerException("Il nodo di getAdjacentNodesOf è null");
         if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo non esiste");
 
-        Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
-        int nodeIndex = getNodeIndexOf(node);
-        for (int i = 0; i < matrix.size(); i++) {
-            if (matrix.get(nodeIndex).get(i) != null) {
-                if (nodeIndex == getNodeIndexOf(matrix.get(nodeIndex).get(i).getNode1())) {
-                    result.add(matrix.get(nodeIndex).get(i).getNode2());
-                } else {
-                    result.add(matrix.get(nodeIndex).get(i).getNode1());
-                }
-            }
-        }
-
-        return result;
+        int nodeIndex = nodesIndex.get(node);
+        //Altre operazioni svolte da getAdjacentNodesOf(int)
+        return getAdjacentNodesOf(nodeIndex);
     }
 
     @Override
     public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
         if (label == null) throw new NullPointerException("Etichetta null");
-        //Altre eccezioni controllate da getAdjacentNodesOf(GraphNode<L> node)
-        return getAdjacentNodesOf(new GraphNode<L>(label));
+        if (!labelsIndex.containsKey(label)) throw new IllegalArgumentException("Il nodo non esiste");
+        int nodeIndex = labelsIndex.get(label);
+        //Altre operazioni svolte da getAdjacentNodesOf(int)
+        return getAdjacentNodesOf(nodeIndex);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int nodeIndex) {
+        if (nodeIndex < 0 || nodeIndex >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+
+        Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
+        //La cella (nodeIndex, j) contiene l'arco verso il nodo con indice j, non serve cercarlo nelle mappe
+        ArrayList<GraphEdge<L>> row = matrix.get(nodeIndex);
+        for (int j = 0; j < row.size(); j++) {
+            if (row.get(j) != null) result.add(nodes.get(j));
+        }
+
+        return result;
     }
 
+    /*
+     * Scorre la riga del nodo: la colonna di ogni cella non nulla è già
+     * l'indice del vicino, quindi non vengono creati insiemi né cercati nodi
+     * nelle mappe
+     */
     @Override
-    public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
-        //Eventuali eccezioni generate dall'indice i vengono lanciate da getNode(i)
-        return getAdjacentNodesOf(getNode(i));
+    public void forEachNeighbour(int nodeIndex, IntDoubleConsumer action) {
+        if (action == null) throw new NullPointerException("Operazione null");
+        if (nodeIndex < 0 || nodeIndex >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+        ArrayList<GraphEdge<L>> row = matrix.get(nodeIndex);
+        for (int j = 0; j < row.size(); j++) {
+            GraphEdge<L> edge = row.get(j);
+            if (edge != null) action.accept(j, edge.getWeight());
+        }
     }
 
     @Override
@@ -443,29 +680,32 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         if (node == null) throw new NullPointerException("nodo null");
         if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Nodo non presente");
 
-        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
-
-        int nodeIndex = getNodeIndexOf(node);
-        //Aggiungo gli archi non nulli presenti sulla riga con indice del nodo
-        for (int i = 0; i < matrix.size(); i++) {
-            if (matrix.get(nodeIndex).get(i) != null) result.add(matrix.get(nodeIndex).get(i));
-        }
-        return result;
+        int nodeIndex = nodesIndex.get(node);
+        //Altre operazioni svolte da getEdgesOf(int)
+        return getEdgesOf(nodeIndex);
     }
 
     @Override
     public Set<GraphEdge<L>> getEdgesOf(L label) {
         if (label == null) throw new NullPointerException("etichetta nulla");
-        //Altre eccezioni coperte dal getEdgesOf(node)
-        return getEdgesOf(new GraphNode<L>(label));
+        if (!labelsIndex.containsKey(label)) throw new IllegalArgumentException("Nodo non presente");
+        int nodeIndex = labelsIndex.get(label);
+        //Altre operazioni svolte da getEdgesOf(int)
+        return getEdgesOf(nodeIndex);
     }
 
     @Override
     public Set<GraphEdge<L>> getEdgesOf(int i) {
         if (i < 0 || i >= nodeCount()) throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale " +
                 "a nodeCount()");
-        //Altre eccezioni coperte dal getEdgesOf(node)
-        return getEdgesOf(getNode(i));
+
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        //Aggiungo gli archi non nulli presenti sulla riga con indice del nodo
+        ArrayList<GraphEdge<L>> row = matrix.get(i);
+        for (int j = 0; j < row.size(); j++) {
+            if (row.get(j) != null) result.add(row.get(j));
+        }
+        return result;
     }
 
     @Override
@@ -486,16 +726,55 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
                 "Operazione non supportata in un grafo non orientato");
     }
 
+    /*
+     * Il grado viene letto dal contatore del nodo, senza costruire l'insieme
+     * dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di calcolare il grado di un nodo null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Tentativo di calcolare il grado di un nodo non " +
+                "presente in questo grafo");
+        return degrees[index];
+    }
+
+    /*
+     * Il grado viene letto dal contatore del nodo, senza costruire l'insieme
+     * dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(L label) {
+        if (label == null) throw new NullPointerException("Tentativo di calcolare il grado di un nodo null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Tentativo di calcolare il grado di un nodo non " +
+                "presente in questo grafo");
+        return degrees[index];
+    }
+
+    /*
+     * Il grado viene letto dal contatore del nodo, senza costruire l'insieme
+     * dei suoi archi
+     */
+    @Override
+    public int getDegreeOf(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Tentativo di calcolare il grado di un nodo con indice non valido");
+        return degrees[i];
+    }
+
     @Override
     public Set<GraphEdge<L>> getEdges() {
         Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
         /*
         In quanto la matrice con gli archi è specchiata, controllo gli elementi della diagonale che divide la
-        matrice(ovvero i cappi) e gli elementi al di sotto di essa.
+        matrice(ovvero i cappi) e gli elementi al di sotto di essa. Ogni arco (i, j) con j <= i è presente anche in
+        posizione (j, i), quindi la riga i arriva almeno fino alla colonna j e basta scorrere le celle memorizzate.
         */
-        for (int j = 0; j < matrix.size(); j++) {
-            for (int i = 0; i < matrix.size(); i++) {
-                if (matrix.get(i).get(j) != null) result.add(matrix.get(i).get(j));
+        for (int i = 0; i < matrix.size(); i++) {
+            ArrayList<GraphEdge<L>> row = matrix.get(i);
+            for (int j = 0; j <= i && j < row.size(); j++) {
+                if (row.get(j) != null) result.add(row.get(j));
             }
         }
         return result;
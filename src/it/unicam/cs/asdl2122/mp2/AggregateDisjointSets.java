@@ -0,0 +1,123 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Foresta di insiemi disgiunti che mantiene per ogni insieme un valore
+ * aggregato, ad esempio il numero di elementi, il minimo, il massimo o la
+ * somma di un attributo degli elementi.
+ *
+ * Il valore aggregato di un insieme singoletto è calcolato dalla funzione
+ * {@code seed} a partire dal suo elemento; quando due insiemi vengono uniti il
+ * valore dell'unione è calcolato dalla funzione {@code merge} a partire dai
+ * valori dei due insiemi. La funzione {@code merge} deve essere associativa e
+ * commutativa, dato che l'ordine in cui gli insiemi vengono uniti dipende
+ * dall'euristica "unione per rango". Il valore di un insieme si legge con
+ * {@code getAggregate} al costo di una ricerca, senza enumerare gli elementi.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ * @param <A>
+ *                il tipo dei valori aggregati
+ */
+public class AggregateDisjointSets<E, A> extends ForestDisjointSets<E> {
+
+    private final Function<? super E, ? extends A> seed;
+
+    private final BinaryOperator<A> merge;
+
+    /*
+     * Valore aggregato di ogni insieme, associato al suo rappresentante
+     */
+    private final Map<E, A> aggregates;
+
+    /**
+     * Costruisce una foresta vuota di insiemi disgiunti con le funzioni di
+     * aggregazione date.
+     *
+     * @param seed
+     *                  la funzione che calcola il valore di un insieme
+     *                  singoletto a partire dal suo elemento
+     * @param merge
+     *                  la funzione associativa e commutativa che calcola il
+     *                  valore dell'unione di due insiemi
+     * @throws NullPointerException
+     *                                  se almeno una delle due funzioni è null
+     */
+    public AggregateDisjointSets(Function<? super E, ? extends A> seed, BinaryOperator<A> merge) {
+        super();
+        if (seed == null || merge == null) throw new NullPointerException("Funzione di aggregazione null");
+        this.seed = seed;
+        this.merge = merge;
+        this.aggregates = new HashMap<E, A>();
+    }
+
+    /*
+     * @throws NullPointerException anche se la funzione seed restituisce null
+     */
+    @Override
+    public void makeSet(E e) {
+        if (e == null) throw new NullPointerException("elemento di makeset null");
+        if (isPresent(e)) throw new IllegalArgumentException("Elemento di makeset già presente");
+        A value = seed.apply(e);
+        if (value == null) throw new NullPointerException("Valore aggregato null");
+        super.makeSet(e);
+        aggregates.put(e, value);
+    }
+
+    /*
+     * Il valore dell'unione viene associato al nuovo rappresentante e quello
+     * dell'insieme assorbito viene rimosso
+     *
+     * @throws NullPointerException anche se la funzione merge restituisce null
+     */
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null) throw new NullPointerException("E1 o E2 null");
+        if (!isPresent(e1) || !isPresent(e2)) throw new IllegalArgumentException("e1 o e2 non presenti negli insiemi");
+        E representative1 = findSet(e1);
+        E representative2 = findSet(e2);
+        if (representative1.equals(representative2)) return;
+        A value = merge.apply(aggregates.get(representative1), aggregates.get(representative2));
+        if (value == null) throw new NullPointerException("Valore aggregato null");
+        super.union(e1, e2);
+        aggregates.remove(representative1);
+        aggregates.remove(representative2);
+        aggregates.put(findSet(e1), value);
+    }
+
+    /**
+     * Restituisce il valore aggregato dell'insieme disgiunto di cui fa parte un
+     * certo elemento.
+     *
+     * @param e
+     *              l'elemento di cui si vuole il valore aggregato
+     *              dell'insieme
+     * @return il valore aggregato dell'insieme di cui fa parte l'elemento
+     * @throws NullPointerException
+     *                                      se l'elemento passato è null
+     * @throws IllegalArgumentException
+     *                                      se l'elemento passato non è
+     *                                      contenuto in nessun insieme
+     *                                      disgiunto
+     */
+    public A getAggregate(E e) {
+        if (e == null) throw new NullPointerException("Elemento di getAggregate null");
+        E representative = findSet(e);
+        if (representative == null) throw new IllegalArgumentException("Elemento non contenuto");
+        return aggregates.get(representative);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        aggregates.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe AggregateDisjointSets.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class AggregateDisjointSetsTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> new AggregateDisjointSets<Integer, Integer>(null,
+                        Integer::sum));
+        assertThrows(NullPointerException.class,
+                () -> new AggregateDisjointSets<Integer, Integer>(e -> e,
+                        null));
+        AggregateDisjointSets<Integer, Integer> ds = new AggregateDisjointSets<Integer, Integer>(
+                e -> e > 10 ? null : e, Integer::sum);
+        assertThrows(NullPointerException.class, () -> ds.makeSet(11));
+        assertFalse(ds.isPresent(11));
+        ds.makeSet(1);
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.getAggregate(2));
+        assertThrows(NullPointerException.class, () -> ds.getAggregate(null));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 2));
+    }
+
+    @Test
+    final void testAggregates() {
+        AggregateDisjointSets<Integer, Integer> sum = new AggregateDisjointSets<Integer, Integer>(
+                e -> e, Integer::sum);
+        AggregateDisjointSets<Integer, Integer> min = new AggregateDisjointSets<Integer, Integer>(
+                e -> e, Math::min);
+        AggregateDisjointSets<Integer, Integer> count = new AggregateDisjointSets<Integer, Integer>(
+                e -> 1, Integer::sum);
+        for (int i = 1; i <= 6; i++) {
+            sum.makeSet(i);
+            min.makeSet(i);
+            count.makeSet(i);
+        }
+        int[][] unions = { { 4, 5 }, { 6, 5 }, { 1, 2 }, { 4, 6 } };
+        for (int[] u : unions) {
+            sum.union(u[0], u[1]);
+            min.union(u[0], u[1]);
+            count.union(u[0], u[1]);
+        }
+        assertEquals(15, sum.getAggregate(6).intValue());
+        assertEquals(3, sum.getAggregate(1).intValue());
+        assertEquals(3, sum.getAggregate(3).intValue());
+        assertEquals(4, min.getAggregate(5).intValue());
+        assertEquals(1, min.getAggregate(2).intValue());
+        assertEquals(3, count.getAggregate(4).intValue());
+        sum.union(3, 5);
+        assertEquals(18, sum.getAggregate(4).intValue());
+        sum.clear();
+        sum.makeSet(4);
+        assertEquals(4, sum.getAggregate(4).intValue());
+    }
+
+    @Test
+    final void testRandomUnions() {
+        Random random = new Random(5);
+        int n = 500;
+        AggregateDisjointSets<Integer, Long> ds = new AggregateDisjointSets<Integer, Long>(
+                e -> (long) e, Long::sum);
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int k = 0; k < 400; k++)
+            ds.union(random.nextInt(n), random.nextInt(n));
+        for (int i = 0; i < n; i++) {
+            long expected = 0;
+            for (Integer e : ds.getCurrentElementsOfSetContaining(i))
+                expected += e;
+            assertEquals(expected, ds.getAggregate(i).longValue());
+        }
+    }
+
+}
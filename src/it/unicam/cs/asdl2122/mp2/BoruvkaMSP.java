@@ -0,0 +1,364 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa l'algoritmo di Borůvka per trovare un Minimum Spanning
+ * Tree di un grafo non orientato, pesato e con pesi non negativi, eseguendo in
+ * parallelo su più thread il lavoro di ogni fase.
+ *
+ * L'algoritmo procede per fasi. In ogni fase ogni componente sceglie il suo
+ * arco uscente più leggero, poi tutte le componenti vengono unite lungo gli
+ * archi scelti, che entrano nell'albero. Le fasi si ripetono finché nessuna
+ * componente ha più archi uscenti; dato che a ogni fase il numero di
+ * componenti almeno si dimezza le fasi sono al più log n. In ogni fase:
+ * <ul>
+ * <li>ogni nodo viene fatto puntare direttamente al rappresentante della sua
+ * componente, in parallelo su intervalli di nodi;</li>
+ * <li>gli archi vengono divisi in intervalli esaminati in parallelo, e l'arco
+ * più leggero di ogni componente viene aggiornato con operazioni
+ * compare-and-set;</li>
+ * <li>le componenti vengono unite in parallelo con una collezione di insiemi
+ * disgiunti senza lock sugli indici dei nodi, in cui un rappresentante viene
+ * agganciato a un altro con un compare-and-set.</li>
+ * </ul>
+ * Il lavoro è distribuito con il framework fork-join su un pool con il numero
+ * di thread scelto alla costruzione: il pool comune se ha quel parallelismo,
+ * altrimenti un pool creato alla prima chiamata e riusato dalle successive.
+ *
+ * Gli archi sono confrontati per peso e, a parità di peso, per posizione
+ * nell'insieme restituito da {@code getEdges()}, lo stesso ordine in cui li
+ * esamina {@code KruskalMSP}. Con un ordine totale l'albero di copertura
+ * minimo è unico, quindi il risultato non dipende dal numero di thread né
+ * dall'ordine in cui i thread eseguono ed è lo stesso di
+ * {@code KruskalMSP.computeMSP}, anche quando ci sono archi di peso uguale. Se
+ * il grafo non è connesso il risultato è una foresta con un albero per
+ * componente.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class BoruvkaMSP<L> {
+
+    /*
+     * Sotto questa dimensione gli intervalli di nodi o archi vengono esaminati
+     * da un solo thread
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    /*
+     * Valore di best per una componente senza archi uscenti
+     */
+    private static final int NO_EDGE = -1;
+
+    /*
+     * Numero massimo di thread usati in ogni fase
+     */
+    private final int parallelism;
+
+    /*
+     * Pool che esegue le fasi, creato alla prima chiamata. I suoi thread sono
+     * demoni e terminano da soli quando restano inattivi.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Borůvka su un grafo non orientato e pesato, con tanti
+     * thread quanti sono i processori disponibili.
+     */
+    public BoruvkaMSP() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Borůvka su un grafo non orientato e pesato, con al più il
+     * numero di thread dato.
+     *
+     * @param parallelism
+     *                        il numero massimo di thread usati in ogni fase
+     * @throws IllegalArgumentException
+     *                                      se il numero di thread non è
+     *                                      positivo
+     */
+    public BoruvkaMSP(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Numero di thread non positivo");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Restituisce il numero massimo di thread usati in ogni fase.
+     *
+     * @return il numero massimo di thread usati in ogni fase
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Borůvka per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi. L'albero restituito non è radicato, quindi è rappresentato
+     * semplicemente con un sottoinsieme degli archi del grafo, ed è lo stesso
+     * restituito da {@code KruskalMSP.computeMSP}.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     *         copertura minimo trovato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Grafo null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo g NON deve essere orientato");
+        List<GraphEdge<L>> graphEdges = new ArrayList<GraphEdge<L>>(g.getEdges());
+        int n = g.nodeCount();
+        int m = graphEdges.size();
+        double[] weights = new double[m];
+        int[] nodes1 = new int[m];
+        int[] nodes2 = new int[m];
+        //Se il grafo non supporta gli indici assegno io un indice a ogni nodo
+        Map<GraphNode<L>, Integer> indices = null;
+        if (!g.hasNodeIndices()) {
+            indices = new HashMap<GraphNode<L>, Integer>();
+            for (GraphNode<L> node : g.getNodes()) {
+                indices.put(node, indices.size());
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            GraphEdge<L> edge = graphEdges.get(k);
+            if (!edge.hasWeight()) throw new IllegalArgumentException("Almeno un arco non è pesato");
+            if (edge.getWeight() < 0) throw new IllegalArgumentException("Almeno un arco ha peso negativo");
+            weights[k] = edge.getWeight();
+            if (indices == null) {
+                nodes1[k] = g.getNodeIndexOf(edge.getNode1());
+                nodes2[k] = g.getNodeIndexOf(edge.getNode2());
+            } else {
+                nodes1[k] = indices.get(edge.getNode1());
+                nodes2[k] = indices.get(edge.getNode2());
+            }
+        }
+        boolean[] inTree = new boolean[m];
+        new Rounds(pool(), n, weights, nodes1, nodes2, inTree).run();
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        for (int k = 0; k < m; k++) {
+            if (inTree[k]) result.add(graphEdges.get(k));
+        }
+        return result;
+    }
+
+    /*
+     * Restituisce il pool delle fasi, creandolo se necessario: il pool comune
+     * se ha il parallelismo richiesto, altrimenti uno nuovo
+     */
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            pool = parallelism == ForkJoinPool.getCommonPoolParallelism() ? ForkJoinPool.commonPool()
+                    : new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /*
+     * Stato di un calcolo: le fasi dell'algoritmo lavorano solo su indici e
+     * array primitivi
+     */
+    private static class Rounds {
+
+        private final ForkJoinPool pool;
+
+        private final int n;
+
+        private final double[] weights;
+
+        private final int[] nodes1;
+
+        private final int[] nodes2;
+
+        /*
+         * Archi scelti: ogni posizione viene scritta da un solo thread, e la
+         * fine di ogni fase rende le scritture visibili
+         */
+        private final boolean[] inTree;
+
+        /*
+         * Insiemi disgiunti senza lock: parent[i] == i se i è un
+         * rappresentante
+         */
+        private final AtomicIntegerArray parent;
+
+        /*
+         * Arco uscente più leggero di ogni componente, indicizzato con il
+         * rappresentante, o NO_EDGE
+         */
+        private final AtomicIntegerArray best;
+
+        /*
+         * Rappresentante della componente di ogni nodo all'inizio della fase
+         */
+        private final int[] component;
+
+        Rounds(ForkJoinPool pool, int n, double[] weights, int[] nodes1, int[] nodes2, boolean[] inTree) {
+            this.pool = pool;
+            this.n = n;
+            this.weights = weights;
+            this.nodes1 = nodes1;
+            this.nodes2 = nodes2;
+            this.inTree = inTree;
+            this.parent = new AtomicIntegerArray(n);
+            this.best = new AtomicIntegerArray(n);
+            this.component = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent.set(i, i);
+            }
+        }
+
+        void run() {
+            int m = weights.length;
+            boolean merged = true;
+            while (merged) {
+                //Ogni nodo punta direttamente al suo rappresentante
+                pool.invoke(new RangeTask(0, n, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int root = find(i);
+                        component[i] = root;
+                        parent.set(i, root);
+                        best.set(i, NO_EDGE);
+                    }
+                }));
+                //Arco uscente più leggero di ogni componente
+                pool.invoke(new RangeTask(0, m, (from, to) -> {
+                    for (int k = from; k < to; k++) {
+                        int c1 = component[nodes1[k]];
+                        int c2 = component[nodes2[k]];
+                        if (c1 != c2) {
+                            offer(c1, k);
+                            offer(c2, k);
+                        }
+                    }
+                }));
+                //Unione delle componenti lungo gli archi scelti
+                AtomicBoolean progress = new AtomicBoolean();
+                pool.invoke(new RangeTask(0, n, (from, to) -> {
+                    boolean any = false;
+                    for (int c = from; c < to; c++) {
+                        int k = best.get(c);
+                        //Un arco scelto da entrambe le sue componenti viene unito una sola volta
+                        if (k != NO_EDGE && union(nodes1[k], nodes2[k])) {
+                            inTree[k] = true;
+                            any = true;
+                        }
+                    }
+                    if (any) progress.set(true);
+                }));
+                merged = progress.get();
+            }
+        }
+
+        /*
+         * Rende k l'arco più leggero della componente c se precede quello
+         * attuale
+         */
+        private void offer(int c, int k) {
+            while (true) {
+                int current = best.get(c);
+                if (current != NO_EDGE && !precedes(k, current)) return;
+                if (best.compareAndSet(c, current, k)) return;
+            }
+        }
+
+        /*
+         * Ordine totale sugli archi: prima il peso, poi l'indice
+         */
+        private boolean precedes(int a, int b) {
+            return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+        }
+
+        private int find(int i) {
+            int p;
+            while ((p = parent.get(i)) != i) {
+                i = p;
+            }
+            return i;
+        }
+
+        /*
+         * Unisce gli insiemi di i e j agganciando un rappresentante all'altro
+         * con un compare-and-set; restituisce false se erano già uniti. Gli
+         * archi scelti in una fase formano una foresta, quindi ogni arco
+         * scelto da una sola componente riesce sempre.
+         */
+        private boolean union(int i, int j) {
+            while (true) {
+                int root1 = find(i);
+                int root2 = find(j);
+                if (root1 == root2) return false;
+                //Aggancio sempre il rappresentante con indice minore, così non si formano cicli
+                if (root1 > root2) {
+                    int temp = root1;
+                    root1 = root2;
+                    root2 = temp;
+                }
+                if (parent.compareAndSet(root1, root1, root2)) return true;
+            }
+        }
+    }
+
+    /*
+     * Corpo di un RangeTask, eseguito su un intervallo di indici
+     */
+    private interface RangeAction {
+
+        void run(int from, int to);
+    }
+
+    /*
+     * Divide l'intervallo [from, to) a metà finché non scende sotto
+     * SEQUENTIAL_THRESHOLD ed esegue il corpo sui pezzi in parallelo
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final RangeAction action;
+
+        RangeTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                action.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe BoruvkaMSP. Il risultato viene
+ * confrontato con quello di KruskalMSP sugli stessi grafi, a partire da quelli
+ * di KruskalMSPTest in MSPTestFixtures.
+ * 
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class BoruvkaMSPTest {
+
+    @Test
+    final void testComputeMSPFixtures() {
+        KruskalMSP<String> kruskal = new KruskalMSP<String>();
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            BoruvkaMSP<String> alg = new BoruvkaMSP<String>(parallelism);
+            for (MSPTestFixtures.Fixture f : MSPTestFixtures.all()) {
+                assertTrue(alg.computeMSP(f.graph)
+                        .equals(kruskal.computeMSP(f.graph)));
+                Graph<String> gr = MSPTestFixtures.withoutNodeIndices(f.graph);
+                assertTrue(alg.computeMSP(gr).equals(kruskal.computeMSP(gr)));
+            }
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        assertThrows(NullPointerException.class, () -> {
+            alg.computeMSP(null);
+        });
+        // Archi non pesati o negativi
+        assertThrows(IllegalArgumentException.class, () -> {
+            alg.computeMSP(MSPTestFixtures.negativeWeightGraph());
+        });
+    }
+
+    @Test
+    final void testParallelism() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoruvkaMSP<Integer>(0));
+        assertTrue(new BoruvkaMSP<Integer>().getParallelism() == Runtime
+                .getRuntime().availableProcessors());
+        assertTrue(new BoruvkaMSP<Integer>(3).getParallelism() == 3);
+    }
+
+    @Test
+    final void testComputeMSPSameAsKruskal() {
+        // Molti pesi ripetuti e più componenti: stesso albero di KruskalMSP
+        // con qualsiasi numero di thread
+        int n = 20000;
+        GraphBuilder<Integer> b = MSPTestFixtures.randomGraph(29, n, 5 * n,
+                20);
+        b.addWeightedEdge(n, n + 1, 3);
+        b.addWeightedEdge(n + 1, n + 2, 3);
+        b.addWeightedEdge(n + 2, n, 3);
+        b.addNode(n + 3);
+        Graph<Integer> gr = b.buildAdjacencyListGraph();
+        Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>()
+                .computeMSP(gr);
+        assertTrue(expected.size() == n + 1);
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            BoruvkaMSP<Integer> alg = new BoruvkaMSP<Integer>(parallelism);
+            assertTrue(alg.computeMSP(gr).equals(expected));
+        }
+        // Grafo che non supporta gli indici dei nodi
+        Graph<Integer> nodes = MSPTestFixtures.withoutNodeIndices(gr);
+        assertFalse(nodes.hasNodeIndices());
+        assertTrue(new BoruvkaMSP<Integer>(2).computeMSP(nodes)
+                .equals(new KruskalMSP<Integer>().computeMSP(nodes)));
+    }
+
+    @Test
+    final void testComputeMSPManyEqualWeights() {
+        // Archi tutti con lo stesso peso: decide solo l'ordine degli archi
+        int n = 100001;
+        GraphBuilder<Integer> equal = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++)
+            equal.addWeightedEdge(i - 1, i, 1);
+        for (int i = 2; i < n; i += 2)
+            equal.addWeightedEdge(i - 2, i, 1);
+        Graph<Integer> gr = equal.buildAdjacencyListGraph();
+        assertTrue(new BoruvkaMSP<Integer>(4).computeMSP(gr)
+                .equals(new KruskalMSP<Integer>().computeMSP(gr)));
+    }
+
+}
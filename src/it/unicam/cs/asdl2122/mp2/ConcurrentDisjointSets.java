@@ -0,0 +1,290 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Implementazione dell'interfaccia {@code DisjointSets<E>} che può essere
+ * usata contemporaneamente da più thread senza sincronizzazione esterna e
+ * senza lock.
+ *
+ * Ogni elemento riceve alla creazione un indice in
+ * {@code [0, capacity() - 1]} e la foresta è memorizzata in un array atomico
+ * dei padri. Le operazioni modificano i padri solo con operazioni
+ * compare-and-set:
+ * <ul>
+ * <li>la ricerca usa la divisione del cammino (path splitting): ogni nodo
+ * visitato viene fatto puntare al nonno, se nel frattempo nessun altro thread
+ * lo ha modificato;</li>
+ * <li>l'unione collega la radice con priorità minore sotto quella con priorità
+ * maggiore, dove la priorità è una permutazione pseudocasuale degli indici
+ * (collegamento casuale), e riprova se nel frattempo una delle due radici è
+ * stata collegata da un altro thread.</li>
+ * </ul>
+ * Il rappresentante di un insieme è quindi l'elemento con priorità massima e
+ * non dipende dall'ordine degli argomenti di union.
+ *
+ * Ogni radice tiene anche il numero di elementi del suo insieme. Dopo aver
+ * collegato una radice sotto un'altra il thread che ha eseguito l'unione
+ * sposta la dimensione della prima sulla seconda; chi aggiunge una dimensione
+ * a una radice che nel frattempo è stata collegata la sposta a sua volta verso
+ * la nuova radice, quindi nessun contributo va perso.
+ *
+ * {@code isPresent}, {@code makeSet}, {@code findSet}, {@code union},
+ * {@code numberOfSets} e {@code setSize} possono essere chiamati in
+ * concorrenza; {@code setSize} costa quanto una {@code findSet} e il suo
+ * risultato è esatto se nessuna unione è in corso.
+ * {@code getCurrentRepresentatives} e {@code getCurrentElementsOfSetContaining}
+ * scorrono tutti gli elementi, costano O(n) e restituiscono un risultato
+ * esatto solo se nessuna unione è in corso. {@code clear} non può essere
+ * chiamato in concorrenza con altre operazioni.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class ConcurrentDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Indice assegnato a ogni elemento inserito
+     */
+    private final ConcurrentMap<E, Integer> indices;
+
+    /*
+     * items.get(i) è l'elemento con indice i, null se l'indice non è stato
+     * assegnato
+     */
+    private final AtomicReferenceArray<E> items;
+
+    /*
+     * parent.get(i) è il padre dell'elemento con indice i, parent.get(i) == i
+     * se è una radice. Ogni indice, anche non ancora assegnato, è inizialmente
+     * una radice.
+     */
+    private final AtomicIntegerArray parent;
+
+    /*
+     * sizes.get(i) è il numero di elementi dell'insieme se i è una radice, 0
+     * altrimenti, a meno delle unioni in corso. Ogni indice, anche non ancora
+     * assegnato, inizialmente ha dimensione 1.
+     */
+    private final AtomicIntegerArray sizes;
+
+    /*
+     * Prossimo indice da assegnare
+     */
+    private final AtomicInteger nextIndex;
+
+    /*
+     * Numero di insiemi disgiunti correnti
+     */
+    private final AtomicInteger sets;
+
+    /**
+     * Crea una collezione vuota che può contenere al più {@code capacity}
+     * elementi.
+     *
+     * @param capacity
+     *                     il numero massimo di elementi
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public ConcurrentDisjointSets(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacità negativa");
+        this.indices = new ConcurrentHashMap<E, Integer>();
+        this.items = new AtomicReferenceArray<E>(capacity);
+        this.parent = new AtomicIntegerArray(capacity);
+        this.sizes = new AtomicIntegerArray(capacity);
+        this.nextIndex = new AtomicInteger();
+        this.sets = new AtomicInteger();
+        for (int i = 0; i < capacity; i++) {
+            parent.set(i, i);
+            sizes.set(i, 1);
+        }
+    }
+
+    /**
+     * Restituisce il numero massimo di elementi della collezione.
+     *
+     * @return il numero massimo di elementi della collezione
+     */
+    public int capacity() {
+        return parent.length();
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null) throw new NullPointerException("Elemento di isPresent null");
+        return indices.containsKey(e);
+    }
+
+    /*
+     * L'elemento viene inserito nella mappa con computeIfAbsent, che calcola
+     * il valore una sola volta per chiave: solo il thread che inserisce
+     * davvero l'elemento prende un indice, quindi due makeSet concorrenti
+     * dello stesso elemento non consumano capacità. L'elemento viene
+     * memorizzato in items, e il numero di insiemi aumentato, prima che la
+     * mappa lo renda visibile: una union concorrente non può quindi far
+     * scendere numberOfSets sotto il numero reale di insiemi.
+     *
+     * @throws IllegalStateException se la capacità è esaurita
+     */
+    @Override
+    public void makeSet(E e) {
+        if (e == null) throw new NullPointerException("elemento di makeset null");
+        boolean[] inserted = new boolean[1];
+        indices.computeIfAbsent(e, key -> {
+            int index = nextIndex.getAndIncrement();
+            if (index >= parent.length()) {
+                nextIndex.decrementAndGet();
+                throw new IllegalStateException("Capacità esaurita");
+            }
+            items.set(index, key);
+            //Conto il nuovo insieme prima che una union possa trovarlo
+            sets.incrementAndGet();
+            inserted[0] = true;
+            return index;
+        });
+        if (!inserted[0]) throw new IllegalArgumentException("Elemento di makeset già presente");
+    }
+
+    @Override
+    public E findSet(E e) {
+        if (e == null) throw new NullPointerException("Elemento di findSet null");
+        Integer index = indices.get(e);
+        if (index == null) return null;
+        return items.get(root(index));
+    }
+
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null) throw new NullPointerException("E1 o E2 null");
+        Integer index1 = indices.get(e1);
+        Integer index2 = indices.get(e2);
+        if (index1 == null || index2 == null)
+            throw new IllegalArgumentException("e1 o e2 non presenti negli insiemi");
+        int x = index1;
+        int y = index2;
+        while (true) {
+            int root1 = root(x);
+            int root2 = root(y);
+            if (root1 == root2) return;
+            //La radice con priorità minore viene collegata sotto l'altra
+            if (priority(root1) > priority(root2)) {
+                int temp = root1;
+                root1 = root2;
+                root2 = temp;
+            }
+            //Se root1 non è più una radice un altro thread l'ha collegata: riprovo dalle radici aggiornate
+            if (parent.compareAndSet(root1, root1, root2)) {
+                sets.decrementAndGet();
+                addSize(root2, sizes.getAndSet(root1, 0));
+                return;
+            }
+            x = root1;
+            y = root2;
+        }
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        Set<E> result = new HashSet<E>();
+        int n = Math.min(nextIndex.get(), parent.length());
+        for (int i = 0; i < n; i++) {
+            E item = items.get(i);
+            if (item != null && parent.get(i) == i) result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public int numberOfSets() {
+        return sets.get();
+    }
+
+    @Override
+    public int setSize(E e) {
+        if (e == null) throw new NullPointerException("element null");
+        Integer index = indices.get(e);
+        if (index == null) throw new IllegalArgumentException("Elemento non contenuto");
+        return sizes.get(root(index));
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        if (e == null) throw new NullPointerException("element null");
+        Integer index = indices.get(e);
+        if (index == null) throw new IllegalArgumentException("Elemento non contenuto");
+        int r = root(index);
+        Set<E> result = new HashSet<E>();
+        int n = Math.min(nextIndex.get(), parent.length());
+        for (int i = 0; i < n; i++) {
+            E item = items.get(i);
+            if (item != null && root(i) == r) result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        int n = Math.min(nextIndex.get(), parent.length());
+        for (int i = 0; i < n; i++) {
+            items.set(i, null);
+            parent.set(i, i);
+            sizes.set(i, 1);
+        }
+        indices.clear();
+        nextIndex.set(0);
+        sets.set(0);
+    }
+
+    /*
+     * Aggiunge delta alla dimensione di r. Se dopo l'aggiunta r non è più una
+     * radice, chi l'ha collegata potrebbe aver già spostato la sua dimensione:
+     * quello che è rimasto in r viene spostato verso la nuova radice. Se non è
+     * rimasto niente lo ha già spostato un altro thread.
+     */
+    private void addSize(int r, int delta) {
+        while (true) {
+            sizes.addAndGet(r, delta);
+            if (parent.get(r) == r) return;
+            delta = sizes.getAndSet(r, 0);
+            if (delta == 0) return;
+            r = root(r);
+        }
+    }
+
+    /*
+     * Risale fino alla radice facendo puntare ogni nodo visitato al nonno. Il
+     * compare-and-set fallisce solo se un altro thread ha già spostato il nodo
+     * più in alto, e in quel caso la modifica non serve più.
+     */
+    private int root(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) parent.compareAndSet(x, p, grandparent);
+            x = p;
+        }
+    }
+
+    /*
+     * Priorità pseudocasuale dell'indice: una funzione biiettiva sugli interi,
+     * quindi indici diversi hanno priorità diverse e il confronto è un ordine
+     * totale
+     */
+    private static int priority(int x) {
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        return x ^ (x >>> 16);
+    }
+}
@@ -0,0 +1,278 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ConcurrentDisjointSets.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class ConcurrentDisjointSetsTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentDisjointSets<Integer>(-1));
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                2);
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(NullPointerException.class, () -> ds.isPresent(null));
+        assertThrows(NullPointerException.class, () -> ds.findSet(null));
+        ds.makeSet(1);
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 2));
+        assertThrows(NullPointerException.class, () -> ds.union(1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.getCurrentElementsOfSetContaining(2));
+        ds.makeSet(2);
+        assertThrows(IllegalStateException.class, () -> ds.makeSet(3));
+        assertEquals(2, ds.capacity());
+    }
+
+    @Test
+    final void testOperations() {
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                10);
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        for (int i = 1; i <= 5; i++)
+            ds.makeSet(i);
+        assertTrue(ds.isPresent(3));
+        assertFalse(ds.isPresent(6));
+        assertTrue(ds.findSet(6) == null);
+        assertTrue(ds.findSet(4).equals(4));
+        assertEquals(5, ds.numberOfSets());
+        ds.union(1, 2);
+        ds.union(3, 2);
+        ds.union(1, 3);
+        assertEquals(3, ds.numberOfSets());
+        assertTrue(ds.findSet(1).equals(ds.findSet(3)));
+        assertFalse(ds.findSet(1).equals(ds.findSet(4)));
+        Set<Integer> expected = new HashSet<Integer>();
+        expected.add(1);
+        expected.add(2);
+        expected.add(3);
+        assertTrue(ds.getCurrentElementsOfSetContaining(2).equals(expected));
+        assertEquals(3, ds.setSize(1));
+        assertEquals(3, ds.getCurrentRepresentatives().size());
+        assertTrue(ds.getCurrentRepresentatives().contains(ds.findSet(2)));
+        ds.clear();
+        assertEquals(0, ds.numberOfSets());
+        assertFalse(ds.isPresent(1));
+        ds.makeSet(1);
+        assertTrue(ds.findSet(1).equals(1));
+    }
+
+    /*
+     * Più thread uniscono in parallelo porzioni diverse di un grande elenco di
+     * archi casuali; il risultato deve coincidere con quello sequenziale. Il
+     * guadagno di tempo dipende dalla macchina e non viene verificato qui, si
+     * veda DisjointSetsBenchmark.
+     */
+    @Test
+    final void testParallelUnion() throws InterruptedException {
+        int n = 100000;
+        int m = 150000;
+        Random random = new Random(7);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int k = 0; k < m; k++) {
+            from[k] = random.nextInt(n);
+            to[k] = random.nextInt(n);
+        }
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                n);
+        IntDisjointSets expected = new IntDisjointSets(n);
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int k = 0; k < m; k++)
+            expected.union(from[k], to[k]);
+
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final int begin = (int) ((long) m * t / threads);
+            final int end = (int) ((long) m * (t + 1) / threads);
+            workers.add(new Thread(() -> {
+                for (int k = begin; k < end; k++)
+                    ds.union(from[k], to[k]);
+            }));
+        }
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+
+        assertEquals(expected.numberOfSets(), ds.numberOfSets());
+        assertEquals(expected.numberOfSets(),
+                ds.getCurrentRepresentatives().size());
+        // Stesso numero di insiemi e ogni arco interno a un insieme: le due
+        // partizioni coincidono
+        for (int k = 0; k < m; k++)
+            assertTrue(ds.findSet(from[k]).equals(ds.findSet(to[k])));
+    }
+
+    @Test
+    final void testParallelMakeSet() throws InterruptedException {
+        int perThread = 10000;
+        int threads = 4;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                perThread * threads);
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ds.makeSet(offset + i);
+                    if (i > 0)
+                        ds.union(offset + i - 1, offset + i);
+                }
+            }));
+        }
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+        assertEquals(threads, ds.numberOfSets());
+        for (int t = 0; t < threads; t++)
+            assertEquals(perThread, ds.setSize(t * perThread));
+    }
+
+    @Test
+    final void testParallelDuplicateMakeSet() throws InterruptedException {
+        // Tutti i thread inseriscono gli stessi elementi: la capacità è
+        // esattamente il numero di elementi distinti e non deve andare persa
+        int n = 200000;
+        int threads = 4;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                n);
+        int[] failures = new int[threads];
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < n; i++) {
+                    try {
+                        ds.makeSet((i + thread * 997) % n);
+                    } catch (IllegalArgumentException e) {
+                        // Già inserito da un altro thread
+                    } catch (IllegalStateException e) {
+                        failures[thread]++;
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+        for (int t = 0; t < threads; t++)
+            assertEquals(0, failures[t]);
+        assertEquals(n, ds.numberOfSets());
+        for (int i = 0; i < n; i++)
+            assertTrue(ds.findSet(i).equals(i));
+        assertThrows(IllegalStateException.class, () -> ds.makeSet(n));
+    }
+
+    /*
+     * Un thread inserisce gli elementi mentre altri li uniscono appena
+     * compaiono e controllano il numero di insiemi: una union non deve mai
+     * poter togliere un insieme che makeSet non ha ancora contato, quindi dopo
+     * ogni union numberOfSets resta almeno 1, e in particolare mai negativo.
+     */
+    @Test
+    final void testParallelMakeSetAndUnion() throws InterruptedException {
+        int n = 200000;
+        int threads = 3;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                n);
+        int[] minimum = new int[threads];
+        List<Thread> workers = new ArrayList<Thread>();
+        workers.add(new Thread(() -> {
+            for (int i = 0; i < n; i++)
+                ds.makeSet(i);
+        }));
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                minimum[thread] = Integer.MAX_VALUE;
+                for (int i = 1; i < n; i++) {
+                    while (!ds.isPresent(i))
+                        Thread.yield();
+                    ds.union(i - 1 - (i - 1) % (thread + 1), i);
+                    minimum[thread] = Math.min(minimum[thread],
+                            ds.numberOfSets());
+                }
+            }));
+        }
+        for (Thread worker : workers)
+            worker.start();
+        for (Thread worker : workers)
+            worker.join();
+        for (int t = 0; t < threads; t++)
+            assertTrue(minimum[t] >= 1);
+        assertEquals(1, ds.numberOfSets());
+        assertEquals(n, ds.setSize(0));
+    }
+
+    /*
+     * Molti thread uniscono in parallelo coppie di pochi elementi, quindi con
+     * molta contesa sulle stesse radici; partizione e dimensioni degli
+     * insiemi devono coincidere con quelle di IntDisjointSets.
+     */
+    @Test
+    final void testParallelUnionStress() throws InterruptedException {
+        int n = 2000;
+        int m = 40000;
+        int threads = 8;
+        Random random = new Random(11);
+        for (int round = 0; round < 10; round++) {
+            int[] from = new int[m];
+            int[] to = new int[m];
+            for (int k = 0; k < m; k++) {
+                from[k] = random.nextInt(n);
+                to[k] = random.nextInt(n);
+            }
+            ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(
+                    n);
+            IntDisjointSets expected = new IntDisjointSets(n);
+            for (int i = 0; i < n; i++)
+                ds.makeSet(i);
+            // Ogni thread esegue tutte le unioni, in un ordine diverso
+            List<Thread> workers = new ArrayList<Thread>();
+            for (int t = 0; t < threads; t++) {
+                final int shift = t * (m / threads);
+                workers.add(new Thread(() -> {
+                    for (int k = 0; k < m; k++) {
+                        int j = (k + shift) % m;
+                        ds.union(from[j], to[j]);
+                    }
+                }));
+            }
+            for (Thread worker : workers)
+                worker.start();
+            for (int k = 0; k < m; k++)
+                expected.union(from[k], to[k]);
+            for (Thread worker : workers)
+                worker.join();
+
+            int[] sizes = new int[n];
+            for (int i = 0; i < n; i++)
+                sizes[expected.findSet(i)]++;
+            assertEquals(expected.numberOfSets(), ds.numberOfSets());
+            for (int k = 0; k < m; k++)
+                assertTrue(ds.findSet(from[k]).equals(ds.findSet(to[k])));
+            for (int i = 0; i < n; i++)
+                assertEquals(sizes[expected.findSet(i)], ds.setSize(i));
+        }
+    }
+
+}
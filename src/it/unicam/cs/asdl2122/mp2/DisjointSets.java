@@ -90,12 +90,40 @@ public interface DisjointSets<E> {
 
     /**
      * Restituisce l'insieme dei rappresentantanti degli insiemi disgiunti
-     * attualmente presenti.
+     * attualmente presenti. L'insieme restituito può essere una vista non
+     * modificabile, che riflette le operazioni successive su questa
+     * collezione: chi deve conservarlo ne faccia una copia.
      * 
      * @return l'insieme corrente dei rappresentanti degli insiemi disgiunti
      */
     Set<E> getCurrentRepresentatives();
 
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti, cioè il
+     * numero dei rappresentanti correnti.
+     * 
+     * @return il numero di insiemi disgiunti correnti
+     */
+    int numberOfSets();
+
+    /**
+     * Restituisce il numero di elementi dell'insieme disgiunto di cui fa parte
+     * un certo elemento.
+     * 
+     * @param e
+     *              l'elemento di cui si vuole conoscere la dimensione
+     *              dell'insieme
+     * @return il numero di elementi dell'insieme di cui fa parte l'elemento
+     *         passato
+     * @throws NullPointerException
+     *                                      se l'elemento passato è null
+     * @throws IllegalArgumentException
+     *                                      se l'elemento passato non è
+     *                                      contenuto in nessun insieme
+     *                                      disgiunto
+     */
+    int setSize(E e);
+
     /**
      * Restituisce gli elementi appartenenti all'insieme disgiunto di cui fa
      * parte un certo elemento.
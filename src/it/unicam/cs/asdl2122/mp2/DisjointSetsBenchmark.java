@@ -0,0 +1,136 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Semplice programma di misura delle implementazioni degli insiemi disgiunti,
+ * da eseguire a mano con il metodo {@code main}.
+ *
+ * Misura:
+ * <ul>
+ * <li>la memoria occupata per elemento da {@code ForestDisjointSets},
+ * {@code IntDisjointSets} e {@code PackedIntDisjointSets}, come differenza
+ * della memoria usata dalla JVM prima e dopo la creazione della struttura
+ * (per {@code ForestDisjointSets} sono compresi gli elementi Integer);</li>
+ * <li>il tempo delle unioni di un grande elenco di archi casuali eseguite su
+ * {@code ConcurrentDisjointSets} da un numero crescente di thread, fino al
+ * numero di processori disponibili, ciascuno su una porzione diversa
+ * dell'elenco, e il guadagno rispetto a un solo thread.</li>
+ * </ul>
+ *
+ * I tempi sono indicativi: ogni misura è la migliore di alcune ripetizioni
+ * dopo un riscaldamento della JVM.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class DisjointSetsBenchmark {
+
+    private static final int REPETITIONS = 3;
+
+    /**
+     * Esegue le misure e le stampa sullo standard output.
+     *
+     * @param args
+     *                 non usati
+     * @throws InterruptedException
+     *                                  se il thread principale viene
+     *                                  interrotto durante le misure
+     */
+    public static void main(String[] args) throws InterruptedException {
+        memory(1000000);
+        System.out.println();
+        int n = 2000000;
+        int m = 4000000;
+        Random random = new Random(1);
+        Integer[] elements = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            elements[i] = i;
+        }
+        Integer[] from = new Integer[m];
+        Integer[] to = new Integer[m];
+        for (int k = 0; k < m; k++) {
+            from[k] = elements[random.nextInt(n)];
+            to[k] = elements[random.nextInt(n)];
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.println("Unioni parallele: n = " + n + ", m = " + m + ", processori = " + processors);
+        System.out.println("thread\ttempo (ms)\tguadagno");
+        //Riscaldamento
+        parallelUnion(elements, from, to, processors);
+        long single = 0;
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            long time = parallelUnion(elements, from, to, threads);
+            if (threads == 1) single = time;
+            System.out.println(threads + "\t" + time / 1000000.0 + "\t" + (double) single / time);
+        }
+    }
+
+    /*
+     * Restituisce il tempo migliore in nanosecondi delle unioni eseguite dal
+     * numero di thread dato, escluso il tempo di creazione degli insiemi
+     */
+    private static long parallelUnion(Integer[] elements, Integer[] from, Integer[] to, int threads)
+            throws InterruptedException {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(elements.length);
+            for (Integer e : elements) {
+                ds.makeSet(e);
+            }
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int begin = (int) ((long) from.length * t / threads);
+                final int end = (int) ((long) from.length * (t + 1) / threads);
+                workers[t] = new Thread(() -> {
+                    for (int k = begin; k < end; k++) {
+                        ds.union(from[k], to[k]);
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /*
+     * Stampa i byte per elemento delle implementazioni sequenziali con n
+     * elementi. Ogni struttura resta raggiungibile finché non è stata misurata.
+     */
+    private static void memory(int n) {
+        System.out.println("Memoria: n = " + n);
+        System.out.println("struttura\t\tbyte per elemento");
+        long before = usedMemory();
+        ForestDisjointSets<Integer> forest = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < n; i++) {
+            forest.makeSet(i);
+        }
+        System.out.println("ForestDisjointSets\t" + (double) (usedMemory() - before) / n);
+        forest = null;
+        before = usedMemory();
+        IntDisjointSets ints = new IntDisjointSets(n);
+        System.out.println("IntDisjointSets\t\t" + (double) (usedMemory() - before) / n);
+        ints = null;
+        before = usedMemory();
+        PackedIntDisjointSets packed = new PackedIntDisjointSets(n);
+        System.out.println("PackedIntDisjointSets\t" + (double) (usedMemory() - before) / n);
+        packed.clear();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
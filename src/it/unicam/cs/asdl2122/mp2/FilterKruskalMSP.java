@@ -0,0 +1,249 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa la variante Filter-Kruskal dell'algoritmo di Kruskal
+ * per trovare un Minimum Spanning Tree di un grafo non orientato, pesato e con
+ * pesi non negativi. È pensata per grafi con molti più archi che nodi, come i
+ * grafi di similarità, nei quali la maggior parte degli archi viene comunque
+ * scartata.
+ *
+ * Invece di ordinare tutti gli archi, l'algoritmo li divide attorno a un arco
+ * pivot scelto a caso in archi più leggeri e più pesanti del pivot, come nel
+ * quick sort, calcola prima la foresta dei soli archi leggeri e poi esamina il
+ * pivot. Prima di passare agli archi pesanti scarta quelli i cui nodi sono già
+ * nello stesso insieme disgiunto, che chiuderebbero un ciclo, e prosegue solo
+ * con quelli rimasti. Sotto una certa dimensione gli archi vengono ordinati
+ * ed esaminati come in {@code KruskalMSP}. Il costo atteso è quasi lineare nel
+ * numero di archi.
+ *
+ * Come in {@code KruskalMSP} gli insiemi disgiunti sono di tipo
+ * {@code IntDisjointSets} sugli indici se il grafo li supporta, altrimenti
+ * {@code ForestDisjointSets<GraphNode<L>>} sui nodi. Gli archi sono
+ * confrontati per peso e, a parità di peso, per posizione nell'insieme
+ * restituito da {@code getEdges()}, lo stesso ordine in cui li esamina
+ * {@code KruskalMSP}: per questo l'albero restituito è lo stesso di
+ * {@code KruskalMSP.computeMSP} anche quando ci sono archi di peso uguale.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class FilterKruskalMSP<L> {
+
+    /*
+     * Sotto questo numero di archi questi vengono ordinati ed esaminati
+     * direttamente
+     */
+    private static final int BASE_CASE = 1 << 10;
+
+    /*
+     * Insiemi disgiunti sui nodi, usati quando il grafo non supporta gli
+     * indici
+     */
+    private final ForestDisjointSets<GraphNode<L>> disjointSets;
+
+    /*
+     * Insiemi disgiunti sugli indici dei nodi, usati quando il grafo supporta
+     * gli indici. Viene riusata se il numero di nodi non cambia.
+     */
+    private IntDisjointSets indexSets;
+
+    /*
+     * Generatore dei pivot: la scelta del pivot influisce solo sui tempi, non
+     * sul risultato
+     */
+    private final Random random;
+
+    /*
+     * Stato del calcolo in corso: archi del grafo, loro pesi, indici dei nodi
+     * degli archi (solo se il grafo supporta gli indici), archi scelti e numero
+     * di archi dell'albero di copertura di un grafo connesso
+     */
+    private List<GraphEdge<L>> graphEdges;
+
+    private double[] weights;
+
+    private int[] nodes1;
+
+    private int[] nodes2;
+
+    private Set<GraphEdge<L>> result;
+
+    private int treeEdges;
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa la
+     * variante Filter-Kruskal dell'algoritmo di Kruskal su un grafo non
+     * orientato e pesato.
+     */
+    public FilterKruskalMSP() {
+        this.disjointSets = new ForestDisjointSets<GraphNode<L>>();
+        this.random = new Random();
+    }
+
+    /**
+     * Utilizza la variante Filter-Kruskal dell'algoritmo di Kruskal per
+     * trovare un albero di copertura minimo in un grafo non orientato e
+     * pesato, con pesi degli archi non negativi. L'albero restituito non è
+     * radicato, quindi è rappresentato semplicemente con un sottoinsieme degli
+     * archi del grafo, ed è lo stesso restituito da
+     * {@code KruskalMSP.computeMSP}.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     *         copertura minimo trovato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Grafo null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo g NON deve essere orientato");
+        boolean indexed = g.hasNodeIndices();
+        graphEdges = new ArrayList<GraphEdge<L>>(g.getEdges());
+        int m = graphEdges.size();
+        weights = new double[m];
+        int[] edges = new int[m];
+        for (int k = 0; k < m; k++) {
+            GraphEdge<L> edge = graphEdges.get(k);
+            if (!edge.hasWeight()) throw new IllegalArgumentException("Almeno un arco non è pesato");
+            if (edge.getWeight() < 0) throw new IllegalArgumentException("Almeno un arco ha peso negativo");
+            weights[k] = edge.getWeight();
+            edges[k] = k;
+        }
+        if (indexed) {
+            //Ogni indice forma già un insieme singoletto
+            if (indexSets == null || indexSets.size() != g.nodeCount()) {
+                indexSets = new IntDisjointSets(g.nodeCount());
+            } else {
+                indexSets.clear();
+            }
+            //Traduco una sola volta i nodi degli archi in indici
+            nodes1 = new int[m];
+            nodes2 = new int[m];
+            for (int k = 0; k < m; k++) {
+                nodes1[k] = g.getNodeIndexOf(graphEdges.get(k).getNode1());
+                nodes2[k] = g.getNodeIndexOf(graphEdges.get(k).getNode2());
+            }
+        } else {
+            disjointSets.clear();
+            for (GraphNode<L> node : g.getNodes()) {
+                disjointSets.makeSet(node);
+            }
+            nodes1 = null;
+            nodes2 = null;
+        }
+        result = new HashSet<GraphEdge<L>>();
+        treeEdges = g.nodeCount() - 1;
+        try {
+            filterKruskal(edges, new int[m], 0, m);
+            return result;
+        } finally {
+            //Non trattengo il grafo dopo il calcolo
+            graphEdges = null;
+            weights = null;
+            nodes1 = null;
+            nodes2 = null;
+            result = null;
+        }
+    }
+
+    /*
+     * Esamina gli archi edges[from, to) per peso crescente, usando buffer[from,
+     * to) come appoggio per l'ordinamento
+     */
+    private void filterKruskal(int[] edges, int[] buffer, int from, int to) {
+        if (result.size() >= treeEdges) return;
+        if (to - from <= BASE_CASE) {
+            kruskal(edges, buffer, from, to);
+            return;
+        }
+        //Sposto il pivot in fondo per escluderlo dalla partizione
+        int p = from + random.nextInt(to - from);
+        int pivot = edges[p];
+        edges[p] = edges[to - 1];
+        edges[to - 1] = pivot;
+        //Archi più leggeri del pivot in [from, mid), pivot in mid, archi più
+        //pesanti in (mid, to): ogni chiamata ricorsiva ha almeno un arco in meno
+        int mid = from;
+        for (int k = from; k < to - 1; k++) {
+            if (precedes(edges[k], pivot)) {
+                int temp = edges[mid];
+                edges[mid++] = edges[k];
+                edges[k] = temp;
+            }
+        }
+        edges[to - 1] = edges[mid];
+        edges[mid] = pivot;
+        filterKruskal(edges, buffer, from, mid);
+        if (result.size() < treeEdges && !connected(pivot)) {
+            join(pivot);
+            result.add(graphEdges.get(pivot));
+        }
+        //Tengo solo gli archi pesanti che collegano insiemi ancora distinti
+        int end = mid + 1;
+        for (int k = mid + 1; k < to && result.size() < treeEdges; k++) {
+            if (!connected(edges[k])) edges[end++] = edges[k];
+        }
+        filterKruskal(edges, buffer, mid + 1, end);
+    }
+
+    /*
+     * Ordina gli archi edges[from, to) ed esegue su di essi l'algoritmo di
+     * Kruskal. Ordinando prima per indice e poi per peso con un ordinamento
+     * stabile si ottiene l'ordine per peso e indice.
+     */
+    private void kruskal(int[] edges, int[] buffer, int from, int to) {
+        Arrays.sort(edges, from, to);
+        PermutationSort.sort(weights, edges, buffer, from, to);
+        for (int k = from; k < to && result.size() < treeEdges; k++) {
+            int edge = edges[k];
+            if (!connected(edge)) {
+                join(edge);
+                result.add(graphEdges.get(edge));
+            }
+        }
+    }
+
+    /*
+     * Ordine totale sugli archi: prima il peso, poi l'indice
+     */
+    private boolean precedes(int a, int b) {
+        return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+    }
+
+    /*
+     * Controlla se i nodi dell'arco dato sono già nello stesso insieme
+     */
+    private boolean connected(int edge) {
+        if (nodes1 != null) return indexSets.findSet(nodes1[edge]) == indexSets.findSet(nodes2[edge]);
+        GraphEdge<L> e = graphEdges.get(edge);
+        return disjointSets.findSet(e.getNode1()).equals(disjointSets.findSet(e.getNode2()));
+    }
+
+    /*
+     * Unisce gli insiemi dei nodi dell'arco dato
+     */
+    private void join(int edge) {
+        if (nodes1 != null) {
+            indexSets.union(nodes1[edge], nodes2[edge]);
+        } else {
+            GraphEdge<L> e = graphEdges.get(edge);
+            disjointSets.union(e.getNode1(), e.getNode2());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe FilterKruskalMSP. I grafi di prova
+ * sono quelli di KruskalMSPTest, in MSPTestFixtures.
+ * 
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class FilterKruskalMSPTest {
+
+    @Test
+    final void testComputeMSPFixtures() {
+        // Lo stesso calcolatore viene riusato su tutti i grafi
+        FilterKruskalMSP<String> alg = new FilterKruskalMSP<String>();
+        for (MSPTestFixtures.Fixture f : MSPTestFixtures.all()) {
+            assertTrue(alg.computeMSP(f.graph).equals(f.expected));
+            assertTrue(alg.computeMSP(MSPTestFixtures.withoutNodeIndices(f.graph))
+                    .equals(f.expected));
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        FilterKruskalMSP<String> alg = new FilterKruskalMSP<String>();
+        assertThrows(NullPointerException.class, () -> {
+            alg.computeMSP(null);
+        });
+        // Archi non pesati o negativi
+        assertThrows(IllegalArgumentException.class, () -> {
+            alg.computeMSP(MSPTestFixtures.negativeWeightGraph());
+        });
+    }
+
+    @Test
+    final void testComputeMSPSameAsKruskal() {
+        // Molti più archi che nodi e molti pesi ripetuti: stesso albero di
+        // KruskalMSP, sia sugli indici sia sui nodi
+        int n = 3000;
+        GraphBuilder<Integer> b = MSPTestFixtures.randomGraph(23, n, 30 * n,
+                100);
+        // Una seconda componente
+        b.addWeightedEdge(n, n + 1, 3);
+        FilterKruskalMSP<Integer> alg = new FilterKruskalMSP<Integer>();
+        Graph<Integer> gr = b.buildAdjacencyListGraph();
+        Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>()
+                .computeMSP(gr);
+        assertTrue(expected.size() == n);
+        assertTrue(alg.computeMSP(gr).equals(expected));
+        // Lo stesso calcolatore può essere riusato
+        assertTrue(alg.computeMSP(gr).equals(expected));
+        Graph<Integer> nodes = MSPTestFixtures.withoutNodeIndices(gr);
+        assertFalse(nodes.hasNodeIndices());
+        assertTrue(alg.computeMSP(nodes)
+                .equals(new KruskalMSP<Integer>().computeMSP(nodes)));
+    }
+
+    @Test
+    final void testComputeMSPManyEqualWeights() {
+        // Archi tutti con lo stesso peso: i pivot non devono degenerare
+        int n = 100001;
+        GraphBuilder<Integer> equal = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++)
+            equal.addWeightedEdge(i - 1, i, 1);
+        Graph<Integer> gr = equal.buildAdjacencyListGraph();
+        assertTrue(new FilterKruskalMSP<Integer>().computeMSP(gr)
+                .equals(gr.getEdges()));
+    }
+
+}
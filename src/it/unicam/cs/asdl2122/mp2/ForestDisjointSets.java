@@ -1,5 +1,6 @@
 package it.unicam.cs.asdl2122.mp2;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -26,6 +27,15 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      * i test JUnit.
      */
     protected Map<E, Node<E>> currentElements;
+
+    /*
+     * Insieme degli elementi delle radici correnti, aggiornato da makeSet e da
+     * union, e la sua vista non modificabile restituita da
+     * getCurrentRepresentatives.
+     */
+    private final Set<E> representatives;
+
+    private final Set<E> representativesView;
     
     /*
      * Classe interna statica che rappresenta i nodi degli alberi della foresta.
@@ -50,9 +60,22 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
          */
         protected int rank;
 
+        /*
+         * Il nodo successivo nella lista circolare dei nodi dello stesso
+         * insieme disgiunto. Nel caso di insieme singoletto punta al nodo
+         * stesso.
+         */
+        protected Node<E> next;
+
+        /*
+         * Il numero di elementi del (sotto)albero di cui questo nodo è radice.
+         * È significativo solo per le radici.
+         */
+        protected int size;
+
         /**
-         * Costruisce un nodo radice con parent che punta a se stesso e rango
-         * zero.
+         * Costruisce un nodo radice con parent e next che puntano a se stesso e
+         * rango zero.
          * 
          * @param item
          *                 l'elemento conservato in questo nodo
@@ -62,6 +85,8 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             this.item = item;
             this.parent = this;
             this.rank = 0;
+            this.next = this;
+            this.size = 1;
         }
 
     }
@@ -72,6 +97,8 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      */
     public ForestDisjointSets() {
         currentElements = new HashMap<>();
+        representatives = new HashSet<>();
+        representativesView = Collections.unmodifiableSet(representatives);
     }
 
     @Override
@@ -92,6 +119,7 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         //Dato che il metodo containsKey e put dell'hashmap hanno una complessità O(1) allora viene garantita la
         //complessità richiesta
         currentElements.put(e, new Node<E>(e));
+        representatives.add(e);
     }
 
     /*
@@ -102,15 +130,30 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     @Override
     public E findSet(E e) {
         if(e == null) throw new NullPointerException("Elemento di findSet null");
-        //Se l'elemento non è in nessun nodo presente
-        if(!currentElements.containsKey(e)) return null;
-        //Sono sicuro ci sia, dunque salvo il nodo in una variabile locale e aggiorno il parent di ogni nodo ricorsivamente
-        //fino  quando non trovo il nodo che ha come parent se stesso. Questo indicia che è la root dell'albero
         Node<E> node = currentElements.get(e);
-        if(node != node.parent) {
-            node.parent = currentElements.get(findSet(node.parent.item));
+        //Se l'elemento non è in nessun nodo presente
+        if(node == null) return null;
+        return root(node).item;
+    }
+
+    /*
+     * Restituisce la radice dell'albero del nodo passato comprimendo il
+     * cammino in due passate iterative: la prima risale i puntatori parent
+     * fino alla radice, la seconda fa puntare alla radice ogni nodo del
+     * cammino. Non vengono usate né la ricorsione, che su catene molto lunghe
+     * esaurirebbe lo stack, né la mappa degli elementi.
+     */
+    private Node<E> root(Node<E> node) {
+        Node<E> root = node;
+        while(root.parent != root) {
+            root = root.parent;
+        }
+        while(node != root) {
+            Node<E> next = node.parent;
+            node.parent = root;
+            node = next;
         }
-        return node.parent.item;
+        return root;
     }
 
     /*
@@ -127,52 +170,85 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     public void union(E e1, E e2) {
         if(e1 == null || e2 == null) throw new NullPointerException("E1 o E2 null");
         if(!isPresent(e1) || !isPresent(e2)) throw new IllegalArgumentException("e1 o e2 non presenti negli insiemi");
-        //Risalgo alle radici tramite il findSet di ognuno, eseguo di conseguenza la "compressione del cammino"
-        Node<E> node1 = currentElements.get(findSet(e1));
-        Node<E> node2 = currentElements.get(findSet(e2));
+        //Risalgo alle radici di ognuno, eseguo di conseguenza la "compressione del cammino"
+        Node<E> node1 = root(currentElements.get(e1));
+        Node<E> node2 = root(currentElements.get(e2));
         //Se le radici sono lo stesso nodo, ovvero fanno parte dello stesso insieme il metodo si ferma
         if(node1.equals(node2)) return;
+        //Concateno le liste circolari dei due insiemi scambiando i successori delle radici
+        Node<E> next1 = node1.next;
+        node1.next = node2.next;
+        node2.next = next1;
         //Sono sicuro non facciano parte dello stesso insieme, decido quindi quale delle due sarà la radice del nuovo
         //albero
         if(node1.rank > node2.rank) {
             //Il nodo1 diventa la radice del nuovo albero
-            node2.parent = node1;
+            link(node2, node1);
             return;
         }
-        node1.parent = node2;
+        link(node1, node2);
         //Qualora i rank dei nodi fosse uguali allora il secondo(e2) deve aumentare
         if(node1.rank == node2.rank) node2.rank++;
     }
 
+    /*
+     * Appende la radice child alla radice root aggiornando la dimensione della
+     * nuova radice e l'insieme dei rappresentanti
+     */
+    private void link(Node<E> child, Node<E> root) {
+        child.parent = root;
+        root.size += child.size;
+        representatives.remove(child.item);
+    }
+
+    /*
+     * L'insieme dei rappresentanti è mantenuto da makeSet e union, quindi viene
+     * restituita in tempo costante una sua vista non modificabile
+     */
     @Override
     public Set<E> getCurrentRepresentatives() {
-        Set<E> result = new HashSet<>();
-        for(Node<E> node : currentElements.values()) {
-            //In questo metodo controllo solo se il nodo ha se stesso come parent. Non mi preoccupo di nodi che potrebbero
-            //avere i parent non aggiornati poiché mi interessano solo le root degli alberi che so di certo essere aggiornate
-            //ogni qualvolta venga eseguito il metodo union
-            if(node.parent.equals(node)) result.add(node.item);
-        }
-        return result;
+        return representativesView;
     }
 
+    @Override
+    public int numberOfSets() {
+        return representatives.size();
+    }
+
+    /*
+     * La dimensione è mantenuta nella radice di ogni albero
+     */
+    @Override
+    public int setSize(E e) {
+        if(e == null) throw new NullPointerException("Elemento di setSize null");
+        Node<E> node = currentElements.get(e);
+        if(node == null) throw new IllegalArgumentException("Elemento non contenuto");
+        return root(node).size;
+    }
+
+    /*
+     * Gli elementi vengono raccolti percorrendo la lista circolare dei nodi
+     * dell'insieme a partire da quello dell'elemento passato, quindi il costo è
+     * proporzionale alla dimensione dell'insieme
+     */
     @Override
     public Set<E> getCurrentElementsOfSetContaining(E e) {
         if(e == null) throw new NullPointerException("element null");
-        if(!currentElements.containsKey(e)) throw new IllegalArgumentException("Elemento non contenuto");
+        Node<E> start = currentElements.get(e);
+        if(start == null) throw new IllegalArgumentException("Elemento non contenuto");
         Set<E> result = new HashSet<>();
-        for(Node<E> node: currentElements.values()) {
-            //Dopo un'unione di due insiemi potrebbe capitare che dei nodi non abbiano aggiornato i parent, poiché durante
-            //l'union vengono cambiati solo i parent delle root. Di conseguenza eseguo il findSet di ogni nodo e se il
-            //risultato è uguale secondo l'equals della classe E allora lo aggiungo al risultato
-            if(findSet(node.item).equals(findSet(e))) result.add(node.item);
-        }
+        Node<E> node = start;
+        do {
+            result.add(node.item);
+            node = node.next;
+        } while(node != start);
         return result;
     }
 
     @Override
     public void clear() {
         currentElements.clear();
+        representatives.clear();
     }
 
 }
@@ -643,4 +643,98 @@ class ForestDisjointSetsTest {
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         assertTrue(ds.currentElements.isEmpty());
     }
+
+    @Test
+    final void testFindSetLongChain() {
+        // Catena di un milione di nodi costruita direttamente, dato che
+        // l'unione per rango non produrrebbe mai alberi così alti
+        int n = 1000000;
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int i = 0; i < n - 1; i++)
+            ds.currentElements.get(i).parent = ds.currentElements.get(i + 1);
+        ForestDisjointSets.Node<Integer> root = ds.currentElements.get(n - 1);
+        assertTrue(ds.findSet(0).equals(n - 1));
+        // Dopo la compressione ogni nodo del cammino punta alla radice
+        for (int i = 0; i < n; i++)
+            assertTrue(ds.currentElements.get(i).parent == root);
+    }
+
+    @Test
+    final void testMembershipLists() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < 100; i++)
+            ds.makeSet(i);
+        ForestDisjointSets.Node<Integer> n0 = ds.currentElements.get(0);
+        assertTrue(n0.next == n0);
+        // Unisco gli elementi con lo stesso resto modulo 7
+        for (int i = 7; i < 100; i++) {
+            ds.union(i, i % 7);
+            ds.union(i - 7, i);
+        }
+        for (int r = 0; r < 7; r++) {
+            Set<Integer> expected = new HashSet<Integer>();
+            for (int i = r; i < 100; i += 7)
+                expected.add(i);
+            assertTrue(ds.getCurrentElementsOfSetContaining(r + 7)
+                    .equals(expected));
+            // La lista circolare contiene ogni elemento dell'insieme una volta
+            ForestDisjointSets.Node<Integer> start = ds.currentElements.get(r);
+            ForestDisjointSets.Node<Integer> node = start;
+            int length = 0;
+            do {
+                assertTrue(node.item % 7 == r);
+                node = node.next;
+                length++;
+            } while (node != start);
+            assertEquals(expected.size(), length);
+        }
+        // L'unione di elementi dello stesso insieme non modifica le liste
+        ds.union(0, 7);
+        assertEquals(15, ds.getCurrentElementsOfSetContaining(0).size());
+    }
+
+    @Test
+    final void testNumberOfSetsAndSetSize() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        assertEquals(0, ds.numberOfSets());
+        assertThrows(NullPointerException.class, () -> ds.setSize(null));
+        assertThrows(IllegalArgumentException.class, () -> ds.setSize(1));
+        for (int i = 1; i <= 6; i++)
+            ds.makeSet(i);
+        assertEquals(6, ds.numberOfSets());
+        assertEquals(1, ds.setSize(4));
+        ds.union(1, 2);
+        ds.union(3, 2);
+        assertEquals(4, ds.numberOfSets());
+        assertEquals(3, ds.setSize(1));
+        assertEquals(3, ds.setSize(3));
+        ds.union(1, 3);
+        assertEquals(4, ds.numberOfSets());
+        ds.union(4, 5);
+        ds.union(5, 1);
+        assertEquals(2, ds.numberOfSets());
+        assertEquals(5, ds.setSize(4));
+        assertEquals(1, ds.setSize(6));
+        ds.clear();
+        assertEquals(0, ds.numberOfSets());
+    }
+
+    @Test
+    final void testGetCurrentRepresentativesView() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        ds.makeSet(1);
+        ds.makeSet(2);
+        Set<Integer> representatives = ds.getCurrentRepresentatives();
+        assertThrows(UnsupportedOperationException.class,
+                () -> representatives.add(3));
+        assertThrows(UnsupportedOperationException.class,
+                () -> representatives.remove(1));
+        // La vista segue le operazioni successive
+        ds.union(1, 2);
+        assertEquals(1, representatives.size());
+        assertTrue(representatives.contains(2));
+    }
+
 }
@@ -1048,4 +1048,106 @@ public abstract class Graph<L> {
             return this.getEdgesOf(n).size() + this.getIngoingEdgesOf(n).size();
     }
 
+    /**
+     * Determina se questo grafo supporta le operazioni opzionali sugli indici
+     * dei nodi, in particolare {@code getNode(int)} e
+     * {@code getNodeIndexOf}. In questo caso i nodi hanno indici densi
+     * nell'intervallo <code>[0, this.nodeCount() - 1]</code> e gli algoritmi
+     * possono usare strutture dati indicizzate con essi.
+     * 
+     * L'implementazione di default prova a leggere il primo nodo per indice e
+     * a ricavarne l'indice, e restituisce false se una delle due operazioni
+     * lancia {@code UnsupportedOperationException}.
+     * 
+     * @return true se le operazioni sugli indici dei nodi sono supportate,
+     *         false altrimenti
+     */
+    public boolean hasNodeIndices() {
+        if (this.nodeCount() == 0)
+            return true;
+        try {
+            this.getNodeIndexOf(this.getNode(0));
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Esegue l'operazione data su ogni vicino del nodo con l'indice dato,
+     * passando l'indice del vicino e il peso dell'arco che li collega
+     * ({@code Double.NaN} se l'arco non è pesato). Nel caso di grafo orientato
+     * i vicini sono i nodi raggiungibili con un arco uscente. Un cappio
+     * produce una chiamata con l'indice del nodo stesso.
+     * 
+     * L'implementazione di default si appoggia a {@code getEdgesOf(int)} e
+     * {@code getNodeIndexOf}; le sottoclassi possono ridefinirla per visitare
+     * i vicini senza creare insiemi né archi.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param nodeIndex
+     *                      l'indice del nodo di cui visitare i vicini
+     * @param action
+     *                      l'operazione da eseguire su ogni vicino
+     * 
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice passato non
+     *                                           corrisponde a nessun nodo o è
+     *                                           fuori dai limiti
+     *                                           dell'intervallo
+     *                                           <code>[0, this.nodeCount() - 1]</code>
+     * @throws NullPointerException
+     *                                           se l'operazione passata è
+     *                                           nulla
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public void forEachNeighbour(int nodeIndex, IntDoubleConsumer action) {
+        if (action == null)
+            throw new NullPointerException(
+                    "Tentativo di visitare i vicini con un'operazione null");
+        GraphNode<L> n = this.getNode(nodeIndex);
+        for (GraphEdge<L> e : this.getEdgesOf(nodeIndex)) {
+            GraphNode<L> other = e.getNode1().equals(n) ? e.getNode2()
+                    : e.getNode1();
+            action.accept(this.getNodeIndexOf(other), e.getWeight());
+        }
+    }
+
+    /**
+     * Riempie il cursore dato con i vicini del nodo con l'indice dato, nello
+     * stesso ordine e con gli stessi valori di
+     * {@code forEachNeighbour(int, IntDoubleConsumer)}. Se il cursore passato
+     * è nullo ne viene creato uno nuovo; riusando lo stesso cursore per più
+     * nodi i vicini vengono visitati senza creare oggetti.
+     * 
+     * Questa operazione è opzionale.
+     * 
+     * @param nodeIndex
+     *                      l'indice del nodo di cui visitare i vicini
+     * @param cursor
+     *                      il cursore da riempire, oppure null
+     * @return il cursore riempito, posizionato prima del primo vicino
+     * 
+     * @throws IndexOutOfBoundsException
+     *                                           se l'indice passato non
+     *                                           corrisponde a nessun nodo o è
+     *                                           fuori dai limiti
+     *                                           dell'intervallo
+     *                                           <code>[0, this.nodeCount() - 1]</code>
+     * @throws UnsupportedOperationException
+     *                                           se questa operazione non è
+     *                                           supportata dall'implementazione
+     *                                           di questo grafo
+     */
+    public NeighbourCursor neighbours(int nodeIndex, NeighbourCursor cursor) {
+        if (cursor == null)
+            cursor = new NeighbourCursor();
+        this.forEachNeighbour(nodeIndex, cursor.reset());
+        return cursor;
+    }
+
 }
@@ -0,0 +1,211 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che permette di costruire un grafo non orientato a partire da un
+ * elenco di etichette di nodi e di archi (etichetta, etichetta, peso) raccolti
+ * in blocco, ad esempio leggendo un flusso di dati.
+ *
+ * Le etichette vengono tradotte in indici una sola volta, al momento in cui
+ * sono aggiunte al costruttore, e gli archi vengono memorizzati come terne di
+ * array primitivi (indice, indice, peso). Alla costruzione del grafo i nodi
+ * vengono inseriti nell'ordine in cui sono stati aggiunti, quindi l'indice
+ * assegnato da questa classe coincide con quello del grafo, e ogni arco viene
+ * inserito con i metodi che usano indici, senza creare nodi temporanei e senza
+ * cercare i nodi nelle mappe. Gli archi duplicati, nello stesso verso o in
+ * verso opposto, sono scartati durante lo stesso passaggio: come in
+ * {@code Graph.addEdge} vale il primo arco aggiunto.
+ *
+ * Lo stesso costruttore può essere usato per costruire più grafi, anche con
+ * rappresentazioni diverse.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class GraphBuilder<L> {
+
+    /*
+     * Etichette dei nodi nell'ordine di inserimento: l'etichetta in posizione
+     * i sarà il nodo con indice i
+     */
+    private final ArrayList<L> labels;
+
+    /*
+     * Associazione di ogni etichetta con la sua posizione in labels
+     */
+    private final Map<L, Integer> labelsIndex;
+
+    /*
+     * Archi raccolti: l'arco k collega i nodi con indici from[k] e to[k] e ha
+     * peso weights[k] (Double.NaN se non è pesato). Solo le prime edgeCount
+     * posizioni sono significative.
+     */
+    private int[] from;
+
+    private int[] to;
+
+    private double[] weights;
+
+    private int edgeCount;
+
+    /**
+     * Crea un costruttore di grafi vuoto.
+     */
+    public GraphBuilder() {
+        this.labels = new ArrayList<L>();
+        this.labelsIndex = new HashMap<L, Integer>();
+        this.from = new int[16];
+        this.to = new int[16];
+        this.weights = new double[16];
+        this.edgeCount = 0;
+    }
+
+    /**
+     * Aggiunge un nodo con l'etichetta data, se non è già presente.
+     *
+     * @param label
+     *                  l'etichetta del nodo
+     * @return l'indice che il nodo avrà nei grafi costruiti
+     * @throws NullPointerException
+     *                                  se l'etichetta è null
+     */
+    public int addNode(L label) {
+        if (label == null) throw new NullPointerException("Etichetta del nodo null");
+        Integer index = labelsIndex.get(label);
+        if (index != null) return index;
+        labelsIndex.put(label, labels.size());
+        labels.add(label);
+        return labels.size() - 1;
+    }
+
+    /**
+     * Aggiunge i nodi con le etichette date, ignorando quelle già presenti.
+     *
+     * @param labels
+     *                   le etichette dei nodi
+     * @throws NullPointerException
+     *                                  se la collezione o una delle etichette
+     *                                  è null
+     */
+    public void addNodes(Iterable<? extends L> labels) {
+        if (labels == null) throw new NullPointerException("Collezione di etichette null");
+        for (L label : labels) {
+            addNode(label);
+        }
+    }
+
+    /**
+     * Aggiunge un arco non pesato tra i nodi con le etichette date. I nodi non
+     * ancora presenti vengono aggiunti.
+     *
+     * @param label1
+     *                   l'etichetta di un nodo dell'arco
+     * @param label2
+     *                   l'etichetta dell'altro nodo dell'arco
+     * @throws NullPointerException
+     *                                  se almeno una delle etichette è null
+     */
+    public void addEdge(L label1, L label2) {
+        addWeightedEdge(label1, label2, Double.NaN);
+    }
+
+    /**
+     * Aggiunge un arco pesato tra i nodi con le etichette date. I nodi non
+     * ancora presenti vengono aggiunti.
+     *
+     * @param label1
+     *                   l'etichetta di un nodo dell'arco
+     * @param label2
+     *                   l'etichetta dell'altro nodo dell'arco
+     * @param weight
+     *                   il peso dell'arco
+     * @throws NullPointerException
+     *                                  se almeno una delle etichette è null
+     */
+    public void addWeightedEdge(L label1, L label2, double weight) {
+        if (label1 == null || label2 == null) throw new NullPointerException("Almeno un'etichetta dell'arco è null");
+        int index1 = addNode(label1);
+        int index2 = addNode(label2);
+        if (edgeCount == from.length) {
+            //Raddoppio la capacità degli array degli archi
+            from = Arrays.copyOf(from, 2 * edgeCount);
+            to = Arrays.copyOf(to, 2 * edgeCount);
+            weights = Arrays.copyOf(weights, 2 * edgeCount);
+        }
+        from[edgeCount] = index1;
+        to[edgeCount] = index2;
+        weights[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    /**
+     * Restituisce il numero di nodi distinti aggiunti finora.
+     *
+     * @return il numero di nodi distinti aggiunti finora
+     */
+    public int nodeCount() {
+        return labels.size();
+    }
+
+    /**
+     * Costruisce un grafo rappresentato con una matrice di adiacenza
+     * contenente i nodi e gli archi aggiunti finora.
+     *
+     * @return un nuovo grafo con i nodi e gli archi aggiunti finora
+     */
+    public AdjacencyMatrixUndirectedGraph<L> buildAdjacencyMatrixGraph() {
+        AdjacencyMatrixUndirectedGraph<L> g = new AdjacencyMatrixUndirectedGraph<L>(labels.size(), false);
+        fill(g);
+        return g;
+    }
+
+    /**
+     * Costruisce un grafo rappresentato con liste di adiacenza contenente i
+     * nodi e gli archi aggiunti finora.
+     *
+     * @return un nuovo grafo con i nodi e gli archi aggiunti finora
+     */
+    public AdjacencyListUndirectedGraph<L> buildAdjacencyListGraph() {
+        AdjacencyListUndirectedGraph<L> g = new AdjacencyListUndirectedGraph<L>();
+        fill(g);
+        return g;
+    }
+
+    /**
+     * Costruisce un grafo rappresentato con una matrice dei pesi contenente i
+     * nodi e gli archi aggiunti finora.
+     *
+     * @return un nuovo grafo con i nodi e gli archi aggiunti finora
+     * @throws IllegalArgumentException
+     *                                      se un arco ha peso
+     *                                      {@code WeightMatrixUndirectedGraph.NO_EDGE}
+     */
+    public WeightMatrixUndirectedGraph<L> buildWeightMatrixGraph() {
+        WeightMatrixUndirectedGraph<L> g = new WeightMatrixUndirectedGraph<L>();
+        fill(g);
+        return g;
+    }
+
+    /*
+     * Inserisce nodi e archi in un grafo vuoto. Dato che il grafo è vuoto i
+     * nodi ricevono gli stessi indici che hanno in labels, e gli archi possono
+     * essere inseriti per indice. I duplicati vengono scartati dal grafo
+     * stesso, che restituisce false senza creare l'arco.
+     */
+    private void fill(Graph<L> g) {
+        for (L label : labels) {
+            g.addNode(label);
+        }
+        for (int k = 0; k < edgeCount; k++) {
+            g.addWeightedEdge(from[k], to[k], weights[k]);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe GraphBuilder.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class GraphBuilderTest {
+
+    @Test
+    final void testExceptions() {
+        GraphBuilder<String> b = new GraphBuilder<String>();
+        assertThrows(NullPointerException.class, () -> b.addNode(null));
+        assertThrows(NullPointerException.class, () -> b.addNodes(null));
+        assertThrows(NullPointerException.class,
+                () -> b.addWeightedEdge(null, "a", 1));
+        assertThrows(NullPointerException.class, () -> b.addEdge("a", null));
+        b.addWeightedEdge("a", "b", WeightMatrixUndirectedGraph.NO_EDGE);
+        assertThrows(IllegalArgumentException.class,
+                () -> b.buildWeightMatrixGraph());
+    }
+
+    @Test
+    final void testAddNode() {
+        GraphBuilder<String> b = new GraphBuilder<String>();
+        assertEquals(0, b.addNode("a"));
+        assertEquals(1, b.addNode("b"));
+        assertEquals(0, b.addNode("a"));
+        List<String> labels = new ArrayList<String>();
+        labels.add("c");
+        labels.add("b");
+        labels.add("d");
+        b.addNodes(labels);
+        assertEquals(4, b.nodeCount());
+        b.addEdge("e", "a");
+        assertEquals(5, b.nodeCount());
+        Graph<String> g = b.buildAdjacencyMatrixGraph();
+        assertEquals(0, g.getNodeIndexOf("a"));
+        assertEquals(1, g.getNodeIndexOf("b"));
+        assertEquals(2, g.getNodeIndexOf("c"));
+        assertEquals(3, g.getNodeIndexOf("d"));
+        assertEquals(4, g.getNodeIndexOf("e"));
+    }
+
+    @Test
+    final void testBuild() {
+        GraphBuilder<String> b = new GraphBuilder<String>();
+        b.addWeightedEdge("a", "b", 4);
+        b.addWeightedEdge("b", "c", 8);
+        b.addWeightedEdge("c", "a", 2);
+        // Duplicati nello stesso verso e nel verso opposto: vale il primo
+        b.addWeightedEdge("b", "a", 10);
+        b.addWeightedEdge("a", "b", 11);
+        b.addEdge("c", "c");
+        b.addNode("d");
+        List<Graph<String>> graphs = new ArrayList<Graph<String>>();
+        graphs.add(b.buildAdjacencyMatrixGraph());
+        graphs.add(b.buildAdjacencyListGraph());
+        graphs.add(b.buildWeightMatrixGraph());
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        edges.add(new GraphEdge<String>(new GraphNode<String>("a"),
+                new GraphNode<String>("b"), false));
+        edges.add(new GraphEdge<String>(new GraphNode<String>("b"),
+                new GraphNode<String>("c"), false));
+        edges.add(new GraphEdge<String>(new GraphNode<String>("a"),
+                new GraphNode<String>("c"), false));
+        edges.add(new GraphEdge<String>(new GraphNode<String>("c"),
+                new GraphNode<String>("c"), false));
+        for (Graph<String> g : graphs) {
+            assertEquals(4, g.nodeCount());
+            assertEquals(4, g.edgeCount());
+            assertTrue(g.getEdges().equals(edges));
+            assertTrue(g.getEdge("a", "b").getWeight() == 4);
+            assertTrue(g.getEdge("a", "c").getWeight() == 2);
+            assertFalse(g.getEdge("c", "c").hasWeight());
+            assertTrue(g.getDegreeOf("d") == 0);
+            // Gli archi collegano i nodi memorizzati nel grafo
+            GraphEdge<String> e = g.getEdge("a", "b");
+            assertTrue(g.getNode("a") == e.getNode1()
+                    || g.getNode("a") == e.getNode2());
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per le implementazioni di default della classe Graph. Il
+ * grafo provato inoltra le sole operazioni astratte a un
+ * AdjacencyListUndirectedGraph e non ridefinisce nessun altro metodo, quindi
+ * tutti i test del contratto comune passano dalle implementazioni di default,
+ * in particolare da quella di forEachNeighbour.
+ * 
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ */
+class GraphTest extends AbstractUndirectedGraphTest {
+
+    @Override
+    Graph<String> createGraph() {
+        return new DelegatingGraph<String>(
+                new AdjacencyListUndirectedGraph<String>());
+    }
+
+    @Test
+    final void testDefaultForEachNeighbour() {
+        //Il grafo di prova deve usare l'implementazione di default
+        assertThrows(NoSuchMethodException.class,
+                () -> DelegatingGraph.class.getDeclaredMethod(
+                        "forEachNeighbour", int.class, IntDoubleConsumer.class));
+        Graph<String> g = createGraph();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addEdge("a", "a");
+        g.addWeightedEdge("b", "b", 2);
+        g.addEdge("b", "c");
+        //Un cappio non pesato viene visitato una sola volta con peso NaN
+        Map<Integer, Double> n = neighboursOf(g, 0);
+        assertEquals(1, n.size());
+        assertTrue(Double.isNaN(n.get(0)));
+        //Un cappio pesato e un arco non pesato verso un altro nodo
+        n = neighboursOf(g, 1);
+        assertEquals(2, n.size());
+        assertTrue(n.get(1) == 2);
+        assertTrue(Double.isNaN(n.get(2)));
+        n = neighboursOf(g, 2);
+        assertEquals(1, n.size());
+        assertTrue(Double.isNaN(n.get(1)));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.forEachNeighbour(3, (j, w) -> {
+                }));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.forEachNeighbour(-1, (j, w) -> {
+                }));
+        assertThrows(NullPointerException.class,
+                () -> g.forEachNeighbour(0, null));
+    }
+
+    /*
+     * Raccoglie i vicini visitati dal nodo con l'indice dato, controllando che
+     * nessun vicino venga visitato due volte
+     */
+    private static Map<Integer, Double> neighboursOf(Graph<String> g, int i) {
+        Map<Integer, Double> neighbours = new HashMap<Integer, Double>();
+        g.forEachNeighbour(i, (j, w) -> assertNull(neighbours.put(j, w)));
+        return neighbours;
+    }
+
+    /*
+     * Grafo minimo che inoltra le operazioni astratte di Graph a un altro
+     * grafo e lascia le implementazioni di default di tutte le altre
+     */
+    private static final class DelegatingGraph<L> extends Graph<L> {
+
+        private final Graph<L> graph;
+
+        DelegatingGraph(Graph<L> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public int nodeCount() {
+            return graph.nodeCount();
+        }
+
+        @Override
+        public int edgeCount() {
+            return graph.edgeCount();
+        }
+
+        @Override
+        public void clear() {
+            graph.clear();
+        }
+
+        @Override
+        public boolean isDirected() {
+            return graph.isDirected();
+        }
+
+        @Override
+        public boolean addNode(GraphNode<L> node) {
+            return graph.addNode(node);
+        }
+
+        @Override
+        public boolean addNode(L label) {
+            return graph.addNode(label);
+        }
+
+        @Override
+        public void removeNode(GraphNode<L> node) {
+            graph.removeNode(node);
+        }
+
+        @Override
+        public void removeNode(L label) {
+            graph.removeNode(label);
+        }
+
+        @Override
+        public void removeNode(int i) {
+            graph.removeNode(i);
+        }
+
+        @Override
+        public GraphNode<L> getNode(GraphNode<L> node) {
+            return graph.getNode(node);
+        }
+
+        @Override
+        public GraphNode<L> getNode(L label) {
+            return graph.getNode(label);
+        }
+
+        @Override
+        public GraphNode<L> getNode(int i) {
+            return graph.getNode(i);
+        }
+
+        @Override
+        public int getNodeIndexOf(GraphNode<L> node) {
+            return graph.getNodeIndexOf(node);
+        }
+
+        @Override
+        public int getNodeIndexOf(L label) {
+            return graph.getNodeIndexOf(label);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getNodes() {
+            return graph.getNodes();
+        }
+
+        @Override
+        public boolean addEdge(GraphEdge<L> edge) {
+            return graph.addEdge(edge);
+        }
+
+        @Override
+        public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
+            return graph.addEdge(node1, node2);
+        }
+
+        @Override
+        public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+                double weight) {
+            return graph.addWeightedEdge(node1, node2, weight);
+        }
+
+        @Override
+        public boolean addEdge(L label1, L label2) {
+            return graph.addEdge(label1, label2);
+        }
+
+        @Override
+        public boolean addWeightedEdge(L label1, L label2, double weight) {
+            return graph.addWeightedEdge(label1, label2, weight);
+        }
+
+        @Override
+        public boolean addEdge(int i, int j) {
+            return graph.addEdge(i, j);
+        }
+
+        @Override
+        public boolean addWeightedEdge(int i, int j, double weight) {
+            return graph.addWeightedEdge(i, j, weight);
+        }
+
+        @Override
+        public void removeEdge(GraphEdge<L> edge) {
+            graph.removeEdge(edge);
+        }
+
+        @Override
+        public void removeEdge(GraphNode<L> node1, GraphNode<L> node2) {
+            graph.removeEdge(node1, node2);
+        }
+
+        @Override
+        public void removeEdge(L label1, L label2) {
+            graph.removeEdge(label1, label2);
+        }
+
+        @Override
+        public void removeEdge(int i, int j) {
+            graph.removeEdge(i, j);
+        }
+
+        @Override
+        public GraphEdge<L> getEdge(GraphEdge<L> edge) {
+            return graph.getEdge(edge);
+        }
+
+        @Override
+        public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+            return graph.getEdge(node1, node2);
+        }
+
+        @Override
+        public GraphEdge<L> getEdge(L label1, L label2) {
+            return graph.getEdge(label1, label2);
+        }
+
+        @Override
+        public GraphEdge<L> getEdge(int i, int j) {
+            return graph.getEdge(i, j);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+            return graph.getAdjacentNodesOf(node);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
+            return graph.getAdjacentNodesOf(label);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
+            return graph.getAdjacentNodesOf(i);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+            return graph.getPredecessorNodesOf(node);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+            return graph.getPredecessorNodesOf(label);
+        }
+
+        @Override
+        public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+            return graph.getPredecessorNodesOf(i);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+            return graph.getEdgesOf(node);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getEdgesOf(L label) {
+            return graph.getEdgesOf(label);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getEdgesOf(int i) {
+            return graph.getEdgesOf(i);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+            return graph.getIngoingEdgesOf(node);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+            return graph.getIngoingEdgesOf(label);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+            return graph.getIngoingEdgesOf(i);
+        }
+
+        @Override
+        public Set<GraphEdge<L>> getEdges() {
+            return graph.getEdges();
+        }
+    }
+}
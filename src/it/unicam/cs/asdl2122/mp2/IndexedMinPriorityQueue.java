@@ -0,0 +1,238 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Coda di min priorità sugli interi {@code [0, capacity() - 1]}, tipicamente
+ * gli indici dei nodi di un grafo, ciascuno con una priorità di tipo double.
+ *
+ * La coda è realizzata con uno heap binario memorizzato in un array di indici,
+ * affiancato da un array che associa a ogni indice la sua posizione nello heap.
+ * In questo modo inserimento, estrazione del minimo e decremento della
+ * priorità costano O(log n), mentre il test di appartenenza e la lettura della
+ * priorità costano O(1).
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class IndexedMinPriorityQueue {
+
+    /*
+     * Heap binario degli indici: le prime size posizioni sono significative e
+     * la priorità di heap[k] non è mai minore di quella di heap[(k - 1) / 2]
+     */
+    private int[] heap;
+
+    /*
+     * Posizione di ogni indice nello heap, -1 se l'indice non è nella coda
+     */
+    private int[] positions;
+
+    /*
+     * Priorità di ogni indice, significativa solo se l'indice è nella coda
+     */
+    private double[] keys;
+
+    private int size;
+
+    /**
+     * Crea una coda vuota che può contenere gli indici
+     * {@code [0, capacity - 1]}.
+     *
+     * @param capacity
+     *                     il numero di indici gestiti dalla coda
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public IndexedMinPriorityQueue(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacità negativa");
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Restituisce il numero di indici gestiti dalla coda.
+     *
+     * @return il numero di indici gestiti dalla coda
+     */
+    public int capacity() {
+        return positions.length;
+    }
+
+    /**
+     * Restituisce il numero di indici presenti nella coda.
+     *
+     * @return il numero di indici presenti nella coda
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determina se la coda è vuota.
+     *
+     * @return true se la coda è vuota, false altrimenti
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determina se l'indice dato è presente nella coda.
+     *
+     * @param index
+     *                  l'indice da cercare
+     * @return true se l'indice è presente nella coda, false altrimenti
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, capacity() - 1]}
+     */
+    public boolean contains(int index) {
+        checkIndex(index);
+        return positions[index] != -1;
+    }
+
+    /**
+     * Restituisce la priorità dell'indice dato.
+     *
+     * @param index
+     *                  un indice presente nella coda
+     * @return la priorità dell'indice
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, capacity() - 1]}
+     * @throws NoSuchElementException
+     *                                       se l'indice non è nella coda
+     */
+    public double getKey(int index) {
+        if (!contains(index)) throw new NoSuchElementException("Indice non presente nella coda");
+        return keys[index];
+    }
+
+    /**
+     * Inserisce l'indice dato con la priorità data.
+     *
+     * @param index
+     *                  l'indice da inserire
+     * @param key
+     *                  la priorità dell'indice
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, capacity() - 1]}
+     * @throws IllegalArgumentException
+     *                                       se l'indice è già nella coda o la
+     *                                       priorità è NaN
+     */
+    public void insert(int index, double key) {
+        if (contains(index)) throw new IllegalArgumentException("Indice già presente nella coda");
+        if (Double.isNaN(key)) throw new IllegalArgumentException("Priorità NaN");
+        keys[index] = key;
+        heap[size] = index;
+        positions[index] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Diminuisce la priorità dell'indice dato.
+     *
+     * @param index
+     *                  un indice presente nella coda
+     * @param key
+     *                  la nuova priorità, non maggiore di quella attuale
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, capacity() - 1]}
+     * @throws NoSuchElementException
+     *                                       se l'indice non è nella coda
+     * @throws IllegalArgumentException
+     *                                       se la nuova priorità è maggiore
+     *                                       di quella attuale o è NaN
+     */
+    public void decreaseKey(int index, double key) {
+        if (!contains(index)) throw new NoSuchElementException("Indice non presente nella coda");
+        if (Double.isNaN(key) || key > keys[index])
+            throw new IllegalArgumentException("La nuova priorità è maggiore di quella attuale");
+        keys[index] = key;
+        siftUp(positions[index]);
+    }
+
+    /**
+     * Rimuove dalla coda l'indice con priorità minima e lo restituisce. A
+     * parità di priorità non è specificato quale indice venga estratto.
+     *
+     * @return l'indice con priorità minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public int extractMin() {
+        if (size == 0) throw new NoSuchElementException("Coda vuota");
+        int min = heap[0];
+        size--;
+        positions[min] = -1;
+        if (size > 0) {
+            //Sposto l'ultimo elemento in cima e lo faccio scendere
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Svuota la coda mantenendone la capacità.
+     */
+    public void clear() {
+        for (int k = 0; k < size; k++) {
+            positions[heap[k]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int k) {
+        int index = heap[k];
+        double key = keys[index];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (keys[heap[parent]] <= key) break;
+            //Il padre scende di un livello
+            heap[k] = heap[parent];
+            positions[heap[k]] = k;
+            k = parent;
+        }
+        heap[k] = index;
+        positions[index] = k;
+    }
+
+    private void siftDown(int k) {
+        int index = heap[k];
+        double key = keys[index];
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (key <= keys[heap[child]]) break;
+            //Il figlio minore sale di un livello
+            heap[k] = heap[child];
+            positions[heap[k]] = k;
+            k = child;
+        }
+        heap[k] = index;
+        positions[index] = k;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= positions.length)
+            throw new IndexOutOfBoundsException("Indice fuori dall'intervallo [0, capacity() - 1]");
+    }
+}
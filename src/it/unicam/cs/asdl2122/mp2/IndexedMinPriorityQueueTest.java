@@ -0,0 +1,100 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IndexedMinPriorityQueue.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class IndexedMinPriorityQueueTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedMinPriorityQueue(-1));
+        IndexedMinPriorityQueue q = new IndexedMinPriorityQueue(3);
+        assertThrows(NoSuchElementException.class, () -> q.extractMin());
+        assertThrows(IndexOutOfBoundsException.class, () -> q.insert(3, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> q.contains(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> q.insert(0, Double.NaN));
+        q.insert(0, 5);
+        assertThrows(IllegalArgumentException.class, () -> q.insert(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> q.decreaseKey(0, 6));
+        assertThrows(NoSuchElementException.class, () -> q.decreaseKey(1, 1));
+        assertThrows(NoSuchElementException.class, () -> q.getKey(1));
+    }
+
+    @Test
+    final void testInsertExtractMin() {
+        IndexedMinPriorityQueue q = new IndexedMinPriorityQueue(5);
+        assertTrue(q.isEmpty());
+        q.insert(3, 7);
+        q.insert(0, Double.POSITIVE_INFINITY);
+        q.insert(4, 2);
+        q.insert(1, 9);
+        assertEquals(4, q.size());
+        assertTrue(q.contains(1));
+        assertFalse(q.contains(2));
+        assertTrue(q.getKey(3) == 7);
+        assertEquals(4, q.extractMin());
+        assertFalse(q.contains(4));
+        assertEquals(3, q.extractMin());
+        assertEquals(1, q.extractMin());
+        assertEquals(0, q.extractMin());
+        assertTrue(q.isEmpty());
+        // Un indice estratto può essere inserito di nuovo
+        q.insert(4, 1);
+        assertEquals(4, q.extractMin());
+    }
+
+    @Test
+    final void testDecreaseKey() {
+        IndexedMinPriorityQueue q = new IndexedMinPriorityQueue(4);
+        for (int i = 0; i < 4; i++)
+            q.insert(i, Double.POSITIVE_INFINITY);
+        q.decreaseKey(2, 5);
+        q.decreaseKey(3, 8);
+        q.decreaseKey(3, 1);
+        q.decreaseKey(2, 5);
+        assertTrue(q.getKey(3) == 1);
+        assertEquals(3, q.extractMin());
+        assertEquals(2, q.extractMin());
+        assertEquals(2, q.size());
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertFalse(q.contains(0));
+        assertEquals(4, q.capacity());
+    }
+
+    @Test
+    final void testRandomOrder() {
+        Random random = new Random(42);
+        int n = 1000;
+        IndexedMinPriorityQueue q = new IndexedMinPriorityQueue(n);
+        double[] keys = new double[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextDouble();
+            q.insert(i, keys[i]);
+        }
+        for (int k = 0; k < n; k++) {
+            int i = random.nextInt(n);
+            keys[i] = keys[i] * random.nextDouble();
+            q.decreaseKey(i, keys[i]);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while (!q.isEmpty()) {
+            int i = q.extractMin();
+            assertTrue(keys[i] >= last);
+            last = keys[i];
+        }
+    }
+
+}
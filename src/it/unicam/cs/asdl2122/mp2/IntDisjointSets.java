@@ -0,0 +1,198 @@
+package it.unicam.cs.asdl2122.mp2;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Collezione di insiemi disgiunti sugli interi {@code [0, size() - 1]}, ad
+ * esempio gli indici dei nodi di un grafo. Offre le stesse operazioni di
+ * {@code DisjointSets<E>} ma lavora solo con tipi primitivi: la foresta è
+ * memorizzata in un array dei padri e in un array dei ranghi, senza creare un
+ * oggetto per elemento e senza mappe.
+ *
+ * Alla creazione ogni elemento forma un insieme singoletto, quindi non esiste
+ * un'operazione makeSet. L'unione usa l'euristica "unione per rango", con lo
+ * stesso criterio di {@code ForestDisjointSets}: a parità di rango il
+ * rappresentante dell'unione è quello dell'insieme del secondo elemento. La
+ * ricerca usa il dimezzamento del cammino (path halving), che ha lo stesso
+ * costo ammortizzato della compressione del cammino ma è iterativa.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class IntDisjointSets {
+
+    /*
+     * parent[x] è il padre di x nella foresta, parent[x] == x se x è una radice
+     */
+    private final int[] parent;
+
+    /*
+     * Rango di ogni radice, limite superiore all'altezza del suo albero. Il
+     * rango è al più log2(size()), quindi sta in un byte.
+     */
+    private final byte[] rank;
+
+    /*
+     * Numero di insiemi disgiunti correnti
+     */
+    private int sets;
+
+    /**
+     * Crea una collezione di {@code size} insiemi singoletto
+     * {@code {0}, {1}, ..., {size - 1}}.
+     *
+     * @param size
+     *                 il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se il numero di elementi è negativo
+     */
+    public IntDisjointSets(int size) {
+        if (size < 0) throw new IllegalArgumentException("Numero di elementi negativo");
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        clear();
+    }
+
+    /**
+     * Restituisce il numero di elementi della collezione.
+     *
+     * @return il numero di elementi della collezione
+     */
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti correnti
+     */
+    public int numberOfSets() {
+        return sets;
+    }
+
+    /**
+     * Determina se un elemento appartiene alla collezione.
+     *
+     * @param e
+     *              l'elemento da cercare
+     * @return true se l'elemento è nell'intervallo {@code [0, size() - 1]},
+     *         false altrimenti
+     */
+    public boolean isPresent(int e) {
+        return e >= 0 && e < parent.length;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova
+     * l'elemento passato.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme disgiunto di {@code e}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è presente
+     */
+    public int findSet(int e) {
+        checkElement(e);
+        return root(e);
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di cui fanno parte i due elementi passati.
+     * Se gli elementi fanno già parte dello stesso insieme non fa nulla.
+     *
+     * @param e1
+     *               un elemento del primo insieme da unire
+     * @param e2
+     *               un elemento del secondo insieme da unire
+     * @return true se gli insiemi erano distinti e sono stati uniti, false se
+     *         gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi non
+     *                                       è presente
+     */
+    public boolean union(int e1, int e2) {
+        checkElement(e1);
+        checkElement(e2);
+        int root1 = root(e1);
+        int root2 = root(e2);
+        if (root1 == root2) return false;
+        if (rank[root1] > rank[root2]) {
+            parent[root2] = root1;
+        } else {
+            parent[root1] = root2;
+            if (rank[root1] == rank[root2]) rank[root2]++;
+        }
+        sets--;
+        return true;
+    }
+
+    /**
+     * Restituisce i rappresentanti degli insiemi disgiunti attualmente
+     * presenti, in ordine crescente.
+     *
+     * @return i rappresentanti correnti
+     */
+    public int[] getCurrentRepresentatives() {
+        int[] result = new int[sets];
+        int count = 0;
+        for (int x = 0; x < parent.length; x++) {
+            if (parent[x] == x) result[count++] = x;
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce gli elementi dell'insieme disgiunto di cui fa parte un certo
+     * elemento, in ordine crescente.
+     *
+     * @param e
+     *              l'elemento di cui si vuole ottenere l'insieme disgiunto
+     * @return gli elementi dell'insieme di {@code e}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è presente
+     */
+    public int[] getCurrentElementsOfSetContaining(int e) {
+        checkElement(e);
+        int r = root(e);
+        int count = 0;
+        for (int x = 0; x < parent.length; x++) {
+            if (root(x) == r) count++;
+        }
+        int[] result = new int[count];
+        count = 0;
+        for (int x = 0; x < parent.length; x++) {
+            if (root(x) == r) result[count++] = x;
+        }
+        return result;
+    }
+
+    /**
+     * Riporta la collezione allo stato iniziale, con ogni elemento in un
+     * insieme singoletto.
+     */
+    public void clear() {
+        for (int x = 0; x < parent.length; x++) {
+            parent[x] = x;
+            rank[x] = 0;
+        }
+        sets = parent.length;
+    }
+
+    /*
+     * Risale fino alla radice facendo puntare ogni nodo visitato al nonno
+     * (dimezzamento del cammino)
+     */
+    private int root(int e) {
+        while (parent[e] != e) {
+            parent[e] = parent[parent[e]];
+            e = parent[e];
+        }
+        return e;
+    }
+
+    private void checkElement(int e) {
+        if (!isPresent(e)) throw new IndexOutOfBoundsException("Elemento fuori dall'intervallo [0, size() - 1]");
+    }
+}
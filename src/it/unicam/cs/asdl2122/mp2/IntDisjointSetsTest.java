@@ -0,0 +1,102 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IntDisjointSets.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class IntDisjointSetsTest {
+
+    @Test
+    final void testIntDisjointSets() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IntDisjointSets(-1));
+        IntDisjointSets ds = new IntDisjointSets(4);
+        assertEquals(4, ds.size());
+        assertTrue(ds.isPresent(0));
+        assertTrue(ds.isPresent(3));
+        assertFalse(ds.isPresent(4));
+        assertFalse(ds.isPresent(-1));
+        for (int i = 0; i < 4; i++)
+            assertEquals(i, ds.findSet(i));
+        assertArrayEquals(new int[] { 0, 1, 2, 3 },
+                ds.getCurrentRepresentatives());
+    }
+
+    @Test
+    final void testExceptions() {
+        IntDisjointSets ds = new IntDisjointSets(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ds.getCurrentElementsOfSetContaining(5));
+    }
+
+    @Test
+    final void testUnion() {
+        IntDisjointSets ds = new IntDisjointSets(5);
+        assertTrue(ds.union(0, 1));
+        // A parità di rango il rappresentante è quello del secondo elemento
+        assertEquals(1, ds.findSet(0));
+        assertFalse(ds.union(1, 0));
+        assertEquals(4, ds.getCurrentRepresentatives().length);
+        assertEquals(4, ds.numberOfSets());
+        // Il rango più alto vince
+        assertTrue(ds.union(1, 2));
+        assertEquals(1, ds.findSet(2));
+        assertTrue(ds.union(3, 4));
+        assertTrue(ds.union(4, 2));
+        assertEquals(ds.findSet(0), ds.findSet(3));
+        assertArrayEquals(new int[] { ds.findSet(0) },
+                ds.getCurrentRepresentatives());
+        assertEquals(1, ds.numberOfSets());
+        assertFalse(ds.union(0, 4));
+    }
+
+    @Test
+    final void testGetCurrentElementsOfSetContaining() {
+        IntDisjointSets ds = new IntDisjointSets(6);
+        ds.union(0, 2);
+        ds.union(4, 2);
+        ds.union(1, 5);
+        assertArrayEquals(new int[] { 0, 2, 4 },
+                ds.getCurrentElementsOfSetContaining(4));
+        assertArrayEquals(new int[] { 1, 5 },
+                ds.getCurrentElementsOfSetContaining(1));
+        assertArrayEquals(new int[] { 3 },
+                ds.getCurrentElementsOfSetContaining(3));
+    }
+
+    @Test
+    final void testClear() {
+        IntDisjointSets ds = new IntDisjointSets(3);
+        ds.union(0, 1);
+        ds.union(1, 2);
+        ds.clear();
+        assertEquals(3, ds.size());
+        assertEquals(3, ds.numberOfSets());
+        assertArrayEquals(new int[] { 0, 1, 2 },
+                ds.getCurrentRepresentatives());
+        assertTrue(ds.union(0, 1));
+        assertEquals(1, ds.findSet(0));
+    }
+
+    @Test
+    final void testLongChain() {
+        int n = 1 << 16;
+        IntDisjointSets ds = new IntDisjointSets(n);
+        for (int i = 1; i < n; i++)
+            ds.union(i, 0);
+        int r = ds.findSet(0);
+        for (int i = 0; i < n; i++)
+            assertEquals(r, ds.findSet(i));
+        assertEquals(1, ds.getCurrentRepresentatives().length);
+    }
+
+}
@@ -0,0 +1,26 @@
+package it.unicam.cs.asdl2122.mp2;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Operazione che accetta un intero e un double primitivi e non restituisce
+ * nulla. È la versione primitiva di {@code BiConsumer<Integer, Double>}, che
+ * non è presente nel pacchetto {@code java.util.function}, e permette di
+ * visitare i vicini di un nodo senza creare oggetti.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    /**
+     * Esegue questa operazione sugli argomenti dati.
+     *
+     * @param i
+     *              il primo argomento, ad esempio l'indice di un nodo
+     * @param d
+     *              il secondo argomento, ad esempio il peso di un arco
+     */
+    void accept(int i, double d);
+}
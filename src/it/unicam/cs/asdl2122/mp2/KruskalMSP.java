@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 
 //ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
@@ -12,9 +13,23 @@ import java.util.Set;
  * 
  * Classe singoletto che implementa l'algoritmo di Kruskal per trovare un
  * Minimum Spanning Tree di un grafo non orientato, pesato e con pesi non
- * negativi. L'algoritmo implementato si avvale della classe
- * {@code ForestDisjointSets<GraphNode<L>>} per gestire una collezione di
- * insiemi disgiunti di nodi del grafo.
+ * negativi. L'algoritmo implementato si avvale di una collezione di insiemi
+ * disgiunti di nodi del grafo: se il grafo supporta gli indici dei nodi (si
+ * veda {@code Graph.hasNodeIndices()}) viene usata la classe
+ * {@code IntDisjointSets} sugli indici, altrimenti la classe
+ * {@code ForestDisjointSets<GraphNode<L>>} sui nodi.
+ * 
+ * Gli archi vengono esaminati per peso crescente e la scansione si ferma non
+ * appena l'albero ha n - 1 archi, quindi gli archi più pesanti di quelli
+ * necessari non vengono nemmeno esaminati. Se gli archi sono molti più dei
+ * nodi e si usa un solo thread vengono estratti uno alla volta da uno heap (si
+ * veda {@code PermutationSort.heapify}), così la parte che non viene esaminata
+ * non viene neanche ordinata; altrimenti la scansione arriva comunque quasi in
+ * fondo e gli archi vengono ordinati tutti, in parallelo se il calcolatore è
+ * costruito con un grado di parallelismo maggiore di uno (si veda
+ * {@code PermutationSort.parallelSort}). In tutti i casi gli archi di peso
+ * uguale vengono esaminati nello stesso ordine, quindi il risultato è lo
+ * stesso.
  * 
  * @author Luca Tesei (template) Enrico Ulissi enrico.ulissi@studenti.unicam.it (implementazione)
  * 
@@ -30,15 +45,78 @@ public class KruskalMSP<L> {
      */
     private ForestDisjointSets<GraphNode<L>> disjointSets;
 
+    /*
+     * Insiemi disgiunti sugli indici dei nodi, usati al posto di disjointSets
+     * quando il grafo supporta gli indici. Viene riusata se il numero di nodi
+     * non cambia.
+     */
+    private IntDisjointSets indexSets;
+
 
     List<GraphEdge<L>> graphEdges;
 
+    /*
+     * Dati dell'ultima chiamata di computeMSP, usati dai test: numero di archi
+     * esaminati prima di fermarsi e se gli archi sono stati estratti dallo
+     * heap invece di essere ordinati tutti
+     */
+    int examinedEdges;
+
+    boolean lazyOrder;
+
+    /*
+     * Rapporto tra archi e nodi oltre il quale, con un solo thread, gli archi
+     * vengono estratti da uno heap invece di essere ordinati tutti
+     */
+    private static final int LAZY_EDGES_PER_NODE = 8;
+
+    /*
+     * Numero massimo di thread usati per ordinare gli archi
+     */
+    private final int parallelism;
+
+    /*
+     * Pool usato per ordinare gli archi in parallelo, creato alla prima
+     * occorrenza e riusato dalle chiamate successive. I suoi thread sono
+     * demoni e terminano da soli quando restano inattivi.
+     */
+    private ForkJoinPool pool;
+
     /**
      * Costruisce un calcolatore di un albero di copertura minimo che usa
-     * l'algoritmo di Kruskal su un grafo non orientato e pesato.
+     * l'algoritmo di Kruskal su un grafo non orientato e pesato. Gli archi
+     * vengono ordinati da un solo thread.
      */
     public KruskalMSP() {
+        this(1);
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Kruskal su un grafo non orientato e pesato e che ordina
+     * gli archi usando al più il numero di thread dato.
+     * 
+     * @param parallelism
+     *                        il numero massimo di thread usati per ordinare
+     *                        gli archi, ad esempio
+     *                        {@code Runtime.getRuntime().availableProcessors()}
+     * @throws IllegalArgumentException
+     *                                      se il numero di thread non è
+     *                                      positivo
+     */
+    public KruskalMSP(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Numero di thread non positivo");
         this.disjointSets = new ForestDisjointSets<GraphNode<L>>();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Restituisce il numero massimo di thread usati per ordinare gli archi.
+     * 
+     * @return il numero massimo di thread usati per ordinare gli archi
+     */
+    public int getParallelism() {
+        return parallelism;
     }
 
     /**
@@ -58,67 +136,81 @@ public class KruskalMSP<L> {
     public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
         if(g == null) throw new NullPointerException("Grafo null");
         if(g.isDirected()) throw new IllegalArgumentException("Il grafo g NON deve essere orientato");
-        //Svuoto il disjoinSet
-        disjointSets.clear();
-        //Creo un insieme singoletto per ogni nodo del grafo
-        for(GraphNode<L> node : g.getNodes()) {
-            disjointSets.makeSet(node);
+        boolean indexed = g.hasNodeIndices();
+        if (indexed) {
+            //Ogni indice forma già un insieme singoletto
+            if (indexSets == null || indexSets.size() != g.nodeCount()) {
+                indexSets = new IntDisjointSets(g.nodeCount());
+            } else {
+                indexSets.clear();
+            }
+        } else {
+            //Svuoto il disjoinSet
+            disjointSets.clear();
+            //Creo un insieme singoletto per ogni nodo del grafo
+            for(GraphNode<L> node : g.getNodes()) {
+                disjointSets.makeSet(node);
+            }
         }
         graphEdges = new ArrayList<>(g.getEdges());
-        //Ordino gli archi in ordine crescente con un Quicksort
-        quickSort(0, graphEdges.size()-1);
-
-        //Avendo gli archi ordinati inizio l'algoritmo di Kruskal
-        Set<GraphEdge<L>> result = new HashSet<>();
-
-        //Uso un foreach dell'Arraylist dato che l'iterazione garantisce l'ordine di estrazione dei dati
-        for(GraphEdge<L> edge : graphEdges) {
+        //Estraggo i pesi in un array primitivo e ordino una permutazione degli indici degli archi secondo il peso
+        int m = graphEdges.size();
+        double[] weights = new double[m];
+        int[] order = new int[m];
+        for(int k = 0; k < m; k++) {
+            GraphEdge<L> edge = graphEdges.get(k);
             if(!edge.hasWeight()) throw new IllegalArgumentException("Almeno un arco non è pesato");
             if(edge.getWeight() < 0) throw new IllegalArgumentException("Almeno un arco ha peso negativo");
+            weights[k] = edge.getWeight();
+            order[k] = k;
+        }
+        boolean lazy = parallelism == 1 && m > (long) LAZY_EDGES_PER_NODE * g.nodeCount();
+        if (lazy) {
+            PermutationSort.heapify(weights, order, m);
+        } else if (parallelism == 1) {
+            //Con un solo thread ordino direttamente, senza creare un pool
+            PermutationSort.sort(weights, order);
+        } else {
+            PermutationSort.parallelSort(weights, order, pool());
+        }
 
+        //Con gli archi pronti per essere esaminati in ordine di peso inizio l'algoritmo di Kruskal
+        Set<GraphEdge<L>> result = new HashSet<>();
+        //Un albero di copertura di un grafo connesso ha n - 1 archi: raggiunti quelli i restanti sono tutti rossi
+        int treeEdges = g.nodeCount() - 1;
+
+        //Scorro gli archi per peso crescente, dallo heap o nell'ordine della permutazione
+        int next;
+        for(next = 0; next < m && result.size() < treeEdges; next++) {
+            int k = lazy ? PermutationSort.pollMin(weights, order, m - next) : order[next];
+            GraphEdge<L> edge = graphEdges.get(k);
             //Se i findset dei nodi di un arco è diverso allora unisco il loro insieme e aggiungo l'arco al
             //risultato. Nel caso contrario i nodi fanno già parte dello stesso sotto-albero di conseguenza è un arco
             //rosso e quindi non lo aggiungo.
-            if(!disjointSets.findSet(edge.getNode1()).equals(disjointSets.findSet(edge.getNode2()))) {
+            if (indexed) {
+                //union restituisce true solo se i due insiemi erano distinti
+                if (indexSets.union(g.getNodeIndexOf(edge.getNode1()), g.getNodeIndexOf(edge.getNode2())))
+                    result.add(edge);
+            } else if(!disjointSets.findSet(edge.getNode1()).equals(disjointSets.findSet(edge.getNode2()))) {
                 result.add(edge);
                 disjointSets.union(edge.getNode1(), edge.getNode2());
             }
         }
+        examinedEdges = next;
+        lazyOrder = lazy;
         return result;
     }
 
-    private void quickSort(int begin, int end) {
-        if(begin < end) {
-            int pivot = partition(begin, end);
-            quickSort(begin, pivot - 1);
-            quickSort(pivot + 1, end);
-        }
-    }
-
-    private int partition(int begin, int end) {
-        //Arco pivot, scelgo l'arco più a destra
-        GraphEdge<L> pivot = graphEdges.get(end);
-        //Inizializzo un indice i
-        int i = begin -1;
-
-        for(int j = begin; j < end; j++) {
-            //Se l'elemento in posizione j ha un peso <= al pivot incremento l'indice i di 1 e scambio l'elemento
-            //In posizione i con quello in posizione j
-            if(graphEdges.get(j).getWeight() <= pivot.getWeight()) {
-                i++;
-                //Scambio
-                GraphEdge<L> temp = graphEdges.get(i);
-                graphEdges.set(i, graphEdges.get(j));
-                graphEdges.set(j, temp);
-            }
+    /*
+     * Restituisce il pool di ordinamento, creandolo se necessario: il pool
+     * comune se ha il parallelismo richiesto, altrimenti uno nuovo. Viene
+     * usato solo con un grado di parallelismo maggiore di uno.
+     */
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            pool = parallelism == ForkJoinPool.getCommonPoolParallelism() ? ForkJoinPool.commonPool()
+                    : new ForkJoinPool(parallelism);
         }
-        //Al termine del ciclo l'elemento in posizione i+1 è il primo elemento più grande del pivot
-        //lo scambio quindi con il pivot situato nella posizione end
-        GraphEdge<L> temp = graphEdges.get(end);
-        graphEdges.set(end, graphEdges.get(i+1));
-        graphEdges.set(i+1, temp);
-
-        //Ora restituisco l'indice del pivot
-        return i+1;
+        return pool;
     }
 }
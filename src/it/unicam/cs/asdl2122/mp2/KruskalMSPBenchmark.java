@@ -0,0 +1,141 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Semplice programma di misura dei tempi di {@code KruskalMSP} e
+ * {@code BoruvkaMSP}, da eseguire a mano con il metodo {@code main}. Misura
+ * come scala con il numero di thread:
+ * <ul>
+ * <li>l'ordinamento dei soli pesi con {@code PermutationSort.parallelSort},
+ * su qualche milione di chiavi casuali;</li>
+ * <li>il calcolo completo con {@code KruskalMSP}, su un grafo sparso
+ * rappresentato con liste di adiacenza, dove l'ordinamento è solo una parte
+ * del tempo totale e la scansione con gli insiemi disgiunti resta
+ * sequenziale;</li>
+ * <li>il calcolo completo con {@code BoruvkaMSP} sullo stesso grafo, in cui
+ * sono parallele tutte le fasi.</li>
+ * </ul>
+ * Il numero di thread va da uno al numero di processori disponibili; lo
+ * speedup è riferito alla misura con un solo thread.
+ *
+ * I tempi sono indicativi: ogni misura è la migliore di alcune ripetizioni
+ * dopo un riscaldamento della JVM.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class KruskalMSPBenchmark {
+
+    private static final int REPETITIONS = 3;
+
+    private static final int KEYS = 1 << 22;
+
+    private static final int NODES = 200000;
+
+    /**
+     * Esegue le misure e le stampa sullo standard output.
+     *
+     * @param args
+     *                 non usati
+     */
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int processors = Runtime.getRuntime().availableProcessors();
+        double[] keys = new double[KEYS];
+        for (int k = 0; k < KEYS; k++) {
+            keys[k] = random.nextDouble();
+        }
+        Graph<Integer> g = sparseGraph(NODES, random);
+        //Riscaldamento
+        sort(keys, processors);
+        kruskal(g, processors);
+        boruvka(g, processors);
+        System.out.println("Ordinamento di " + KEYS + " chiavi");
+        System.out.println("thread\ttempo (ms)\tspeedup");
+        long base = 0;
+        for (int threads = 1; threads <= processors; threads++) {
+            long time = sort(keys, threads);
+            if (threads == 1) base = time;
+            System.out.println(threads + "\t" + time / 1000000.0 + "\t" + (double) base / time);
+        }
+        System.out.println("Kruskal su " + g.nodeCount() + " nodi e " + g.edgeCount() + " archi");
+        System.out.println("thread\ttempo (ms)\tspeedup");
+        for (int threads = 1; threads <= processors; threads++) {
+            long time = kruskal(g, threads);
+            if (threads == 1) base = time;
+            System.out.println(threads + "\t" + time / 1000000.0 + "\t" + (double) base / time);
+        }
+        System.out.println("Boruvka sullo stesso grafo");
+        System.out.println("thread\ttempo (ms)\tspeedup");
+        for (int threads = 1; threads <= processors; threads++) {
+            long time = boruvka(g, threads);
+            if (threads == 1) base = time;
+            System.out.println(threads + "\t" + time / 1000000.0 + "\t" + (double) base / time);
+        }
+    }
+
+    /*
+     * Restituisce il tempo migliore in nanosecondi dell'ordinamento delle
+     * chiavi con il numero di thread dato
+     */
+    private static long sort(double[] keys, int threads) {
+        long best = Long.MAX_VALUE;
+        int[] perm = new int[keys.length];
+        for (int r = 0; r < REPETITIONS; r++) {
+            for (int k = 0; k < perm.length; k++) {
+                perm[k] = k;
+            }
+            long start = System.nanoTime();
+            PermutationSort.parallelSort(keys, perm, threads);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /*
+     * Restituisce il tempo migliore in nanosecondi di KruskalMSP con il numero
+     * di thread dato
+     */
+    private static long kruskal(Graph<Integer> g, int threads) {
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>(threads);
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            alg.computeMSP(g);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /*
+     * Restituisce il tempo migliore in nanosecondi di BoruvkaMSP con il numero
+     * di thread dato
+     */
+    private static long boruvka(Graph<Integer> g, int threads) {
+        BoruvkaMSP<Integer> alg = new BoruvkaMSP<Integer>(threads);
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            alg.computeMSP(g);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /*
+     * Albero casuale più quattro archi casuali per nodo, con pesi casuali
+     */
+    private static Graph<Integer> sparseGraph(int n, Random random) {
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++) {
+            b.addWeightedEdge(random.nextInt(i), i, random.nextDouble());
+        }
+        for (int k = 0; k < 4 * n; k++) {
+            b.addWeightedEdge(random.nextInt(n), random.nextInt(n), random.nextDouble());
+        }
+        return b.buildAdjacencyListGraph();
+    }
+}
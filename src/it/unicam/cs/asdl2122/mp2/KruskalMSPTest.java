@@ -3,6 +3,7 @@ package it.unicam.cs.asdl2122.mp2;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -153,6 +154,17 @@ class KruskalMSPTest {
         assertTrue(alg.computeMSP(gr).equals(result));
     }
 
+    @Test
+    final void testComputeMSPWithoutNodeIndices() {
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        for (MSPTestFixtures.Fixture f : MSPTestFixtures.all()) {
+            Graph<String> gr = MSPTestFixtures.withoutNodeIndices(f.graph);
+            // Un grafo vuoto supporta sempre gli indici
+            assertTrue(gr.hasNodeIndices() == (gr.nodeCount() == 0));
+            assertTrue(alg.computeMSP(gr).equals(f.expected));
+        }
+    }
+
     @Test
     final void exceptionsTest() {
         Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
@@ -206,4 +218,105 @@ class KruskalMSPTest {
             alg.computeMSP(x);
         });
     }
+
+    @Test
+    final void testComputeMSPManyEqualWeights() {
+        // Archi tutti con lo stesso peso o già ordinati: l'ordinamento non
+        // deve degenerare né esaurire lo stack
+        int n = 100001;
+        GraphBuilder<Integer> equal = new GraphBuilder<Integer>();
+        GraphBuilder<Integer> sorted = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++) {
+            equal.addWeightedEdge(i - 1, i, 1);
+            sorted.addWeightedEdge(i - 1, i, i);
+        }
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+        Graph<Integer> gr = equal.buildAdjacencyListGraph();
+        assertTrue(alg.computeMSP(gr).equals(gr.getEdges()));
+        gr = sorted.buildAdjacencyListGraph();
+        assertTrue(alg.computeMSP(gr).equals(gr.getEdges()));
+    }
+
+    @Test
+    final void testComputeMSPParallel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new KruskalMSP<Integer>(0));
+        assertTrue(new KruskalMSP<Integer>().getParallelism() == 1);
+        // Grafo casuale con molti pesi ripetuti: l'ordinamento parallelo deve
+        // dare lo stesso albero di quello sequenziale
+        Random random = new Random(5);
+        int n = 20000;
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++)
+            b.addWeightedEdge(random.nextInt(i), i, random.nextInt(50));
+        for (int k = 0; k < 4 * n; k++)
+            b.addWeightedEdge(random.nextInt(n), random.nextInt(n),
+                    random.nextInt(50));
+        Graph<Integer> gr = b.buildAdjacencyListGraph();
+        Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>()
+                .computeMSP(gr);
+        assertTrue(expected.size() == n - 1);
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>(4);
+        assertTrue(alg.getParallelism() == 4);
+        assertTrue(alg.computeMSP(gr).equals(expected));
+    }
+
+    @Test
+    final void testComputeMSPEarlyTermination() {
+        // Grafo completo: l'albero è fatto dai soli archi leggeri del
+        // cammino, tutti gli altri sono più pesanti e non servono
+        int n = 300;
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        Set<GraphEdge<Integer>> expected = new HashSet<GraphEdge<Integer>>();
+        for (int i = 1; i < n; i++) {
+            b.addWeightedEdge(i - 1, i, 1);
+            expected.add(new GraphEdge<Integer>(new GraphNode<Integer>(i - 1),
+                    new GraphNode<Integer>(i), false));
+        }
+        for (int i = 0; i < n; i++)
+            for (int j = i + 2; j < n; j++)
+                b.addWeightedEdge(i, j, 2 + i + j);
+        int m = n * (n - 1) / 2;
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+        assertTrue(alg.computeMSP(b.buildAdjacencyMatrixGraph())
+                .equals(expected));
+        // Con m > 8n gli archi vengono estratti dallo heap, e solo quelli
+        // dell'albero vengono esaminati
+        assertTrue(alg.lazyOrder);
+        assertEquals(n - 1, alg.examinedEdges);
+        assertTrue(alg.computeMSP(b.buildAdjacencyListGraph())
+                .equals(expected));
+        assertTrue(alg.lazyOrder);
+        assertEquals(n - 1, alg.examinedEdges);
+        // Lo heap e l'ordinamento completo danno lo stesso albero, e anche
+        // con l'ordinamento completo la scansione si ferma
+        KruskalMSP<Integer> parallel = new KruskalMSP<Integer>(2);
+        assertTrue(parallel.computeMSP(b.buildAdjacencyListGraph())
+                .equals(expected));
+        assertFalse(parallel.lazyOrder);
+        assertEquals(n - 1, parallel.examinedEdges);
+        // Grafo non connesso: la scansione arriva in fondo e restituisce una
+        // foresta con un albero per componente
+        b.addWeightedEdge(n, n + 1, 5);
+        b.addNode(n + 2);
+        expected.add(new GraphEdge<Integer>(new GraphNode<Integer>(n),
+                new GraphNode<Integer>(n + 1), false));
+        assertTrue(alg.computeMSP(b.buildAdjacencyListGraph())
+                .equals(expected));
+        assertEquals(m + 1, alg.examinedEdges);
+        // Grafo sparso: gli archi vengono ordinati tutti
+        GraphBuilder<Integer> path = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++)
+            path.addWeightedEdge(i - 1, i, n - i);
+        alg.computeMSP(path.buildAdjacencyListGraph());
+        assertFalse(alg.lazyOrder);
+        assertEquals(n - 1, alg.examinedEdges);
+        // Un solo nodo e grafo vuoto
+        GraphBuilder<Integer> single = new GraphBuilder<Integer>();
+        single.addNode(0);
+        assertTrue(alg.computeMSP(single.buildAdjacencyListGraph()).isEmpty());
+        assertTrue(alg.computeMSP(new GraphBuilder<Integer>()
+                .buildAdjacencyListGraph()).isEmpty());
+    }
+
 }
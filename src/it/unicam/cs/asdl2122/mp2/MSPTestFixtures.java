@@ -0,0 +1,240 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Grafi di prova condivisi dalle classi di test dei calcolatori di alberi di
+ * copertura minimi (KruskalMSPTest, FilterKruskalMSPTest, BoruvkaMSPTest). Ogni
+ * grafo viene costruito nuovo a ogni chiamata, insieme all'albero atteso.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+final class MSPTestFixtures {
+
+    /*
+     * Un grafo di prova e l'albero di copertura minimo atteso
+     */
+    static final class Fixture {
+
+        final Graph<String> graph;
+
+        final Set<GraphEdge<String>> expected;
+
+        Fixture(Graph<String> graph, Set<GraphEdge<String>> expected) {
+            this.graph = graph;
+            this.expected = expected;
+        }
+    }
+
+    private MSPTestFixtures() {
+    }
+
+    /*
+     * Grafo di nove nodi con un arco di peso non intero
+     */
+    static Fixture fixture1() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        GraphNode<String> g = new GraphNode<String>("g");
+        gr.addNode(g);
+        GraphNode<String> h = new GraphNode<String>("h");
+        gr.addNode(h);
+        GraphNode<String> i = new GraphNode<String>("i");
+        gr.addNode(i);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, h, false, 8.5));
+        gr.addEdge(new GraphEdge<String>(b, h, false, 11));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 8));
+        gr.addEdge(new GraphEdge<String>(c, i, false, 2));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+        gr.addEdge(new GraphEdge<String>(c, f, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, f, false, 14));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 10));
+        gr.addEdge(new GraphEdge<String>(f, g, false, 2));
+        gr.addEdge(new GraphEdge<String>(g, i, false, 6));
+        gr.addEdge(new GraphEdge<String>(g, h, false, 1));
+        gr.addEdge(new GraphEdge<String>(h, i, false, 7));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 4));
+        result.add(new GraphEdge<String>(b, c, false, 8));
+        result.add(new GraphEdge<String>(c, i, false, 2));
+        result.add(new GraphEdge<String>(c, d, false, 7));
+        result.add(new GraphEdge<String>(c, f, false, 4));
+        result.add(new GraphEdge<String>(d, e, false, 9));
+        result.add(new GraphEdge<String>(f, g, false, 2));
+        result.add(new GraphEdge<String>(g, h, false, 1));
+        return new Fixture(gr, result);
+    }
+
+    /*
+     * Grafo di sette nodi
+     */
+    static Fixture fixture2() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        GraphNode<String> g = new GraphNode<String>("g");
+        gr.addNode(g);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 28));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 16));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 12));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 22));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 25));
+        gr.addEdge(new GraphEdge<String>(f, a, false, 10));
+        gr.addEdge(new GraphEdge<String>(g, b, false, 14));
+        gr.addEdge(new GraphEdge<String>(g, d, false, 18));
+        gr.addEdge(new GraphEdge<String>(g, e, false, 24));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, f, false, 10));
+        result.add(new GraphEdge<String>(f, e, false, 25));
+        result.add(new GraphEdge<String>(e, d, false, 22));
+        result.add(new GraphEdge<String>(c, d, false, 12));
+        result.add(new GraphEdge<String>(c, b, false, 16));
+        result.add(new GraphEdge<String>(g, b, false, 14));
+        return new Fixture(gr, result);
+    }
+
+    /*
+     * Grafo di cinque nodi
+     */
+    static Fixture fixture3() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, c, false, 7));
+        gr.addEdge(new GraphEdge<String>(a, d, false, 10));
+        gr.addEdge(new GraphEdge<String>(a, e, false, 5));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 2));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 1));
+        result.add(new GraphEdge<String>(d, e, false, 2));
+        result.add(new GraphEdge<String>(b, c, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 4));
+        return new Fixture(gr, result);
+    }
+
+    /*
+     * Casi limite, in ordine di costruzione: grafo vuoto, un nodo, due nodi
+     * isolati, due nodi collegati e infine tre nodi isolati in più
+     */
+    static List<Fixture> fixtures4() {
+        List<Fixture> fixtures = new ArrayList<Fixture>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        Set<GraphEdge<String>> empty = new HashSet<GraphEdge<String>>();
+        Set<GraphEdge<String>> ab = new HashSet<GraphEdge<String>>();
+        ab.add(new GraphEdge<String>(a, b, false, 1));
+        for (int step = 0; step < 5; step++) {
+            Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+            if (step >= 1) gr.addNode(a);
+            if (step >= 2) gr.addNode(b);
+            if (step >= 3) gr.addEdge(new GraphEdge<String>(a, b, false, 1));
+            if (step >= 4) {
+                gr.addNode(new GraphNode<String>("c"));
+                gr.addNode(new GraphNode<String>("d"));
+                gr.addNode(new GraphNode<String>("e"));
+            }
+            fixtures.add(new Fixture(gr, step >= 3 ? ab : empty));
+        }
+        return fixtures;
+    }
+
+    /*
+     * Tutti i grafi di prova
+     */
+    static List<Fixture> all() {
+        List<Fixture> fixtures = new ArrayList<Fixture>();
+        fixtures.add(fixture1());
+        fixtures.add(fixture2());
+        fixtures.add(fixture3());
+        fixtures.addAll(fixtures4());
+        return fixtures;
+    }
+
+    /*
+     * Grafo con un arco di peso negativo
+     */
+    static Graph<String> negativeWeightGraph() {
+        Graph<String> x = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("A");
+        x.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("B");
+        x.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("C");
+        x.addNode(c);
+        x.addEdge(new GraphEdge<String>(a, b, false, 0));
+        x.addEdge(new GraphEdge<String>(b, c, false, -2));
+        return x;
+    }
+
+    /*
+     * Costruttore di un grafo casuale connesso con i nodi da 0 a n - 1: un
+     * albero casuale più extra archi casuali, con pesi interi in
+     * [0, maxWeight) e quindi molti pesi ripetuti
+     */
+    static GraphBuilder<Integer> randomGraph(long seed, int n, int extra, int maxWeight) {
+        Random random = new Random(seed);
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        for (int i = 1; i < n; i++)
+            b.addWeightedEdge(random.nextInt(i), i, random.nextInt(maxWeight));
+        for (int k = 0; k < extra; k++)
+            b.addWeightedEdge(random.nextInt(n), random.nextInt(n), random.nextInt(maxWeight));
+        return b;
+    }
+
+    /*
+     * Copia del grafo dato in un grafo che non supporta gli indici dei nodi,
+     * per provare il ramo dei calcolatori che lavora sui nodi
+     */
+    static <L> Graph<L> withoutNodeIndices(Graph<L> g) {
+        Graph<L> copy = new AdjacencyListUndirectedGraph<L>() {
+            @Override
+            public int getNodeIndexOf(GraphNode<L> node) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        for (GraphNode<L> node : g.getNodes())
+            copy.addNode(node);
+        for (GraphEdge<L> edge : g.getEdges())
+            copy.addEdge(edge);
+        return copy;
+    }
+}
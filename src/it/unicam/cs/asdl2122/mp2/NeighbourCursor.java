@@ -0,0 +1,136 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Cursore riutilizzabile sulle coppie (indice del vicino, peso dell'arco) di
+ * un nodo di un grafo. Il cursore viene riempito da
+ * {@code Graph.neighbours(int, NeighbourCursor)} e poi percorso con
+ * {@code next()}:
+ *
+ * <pre>
+ * NeighbourCursor c = new NeighbourCursor();
+ * for (int u = 0; u &lt; g.nodeCount(); u++) {
+ *     g.neighbours(u, c);
+ *     while (c.next()) {
+ *         visita(c.neighbourIndex(), c.weight());
+ *     }
+ * }
+ * </pre>
+ *
+ * Gli array interni crescono solo quando un nodo ha più vicini di quelli mai
+ * visti prima, quindi riusando lo stesso cursore su tutti i nodi non vengono
+ * creati oggetti a ogni chiamata. Il contenuto del cursore è una fotografia dei
+ * vicini al momento del riempimento e non segue le modifiche successive del
+ * grafo.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class NeighbourCursor {
+
+    /*
+     * Indici dei vicini e pesi dei rispettivi archi, significativi nelle prime
+     * size posizioni
+     */
+    private int[] neighbours;
+
+    private double[] weights;
+
+    private int size;
+
+    /*
+     * Posizione corrente, -1 prima della prima chiamata di next()
+     */
+    private int position;
+
+    /*
+     * Operazione passata a Graph.forEachNeighbour per riempire il cursore,
+     * creata una sola volta
+     */
+    private final IntDoubleConsumer filler;
+
+    /**
+     * Crea un cursore vuoto.
+     */
+    public NeighbourCursor() {
+        this.neighbours = new int[8];
+        this.weights = new double[8];
+        this.size = 0;
+        this.position = -1;
+        this.filler = this::add;
+    }
+
+    /**
+     * Restituisce il numero di vicini contenuti nel cursore.
+     *
+     * @return il numero di vicini contenuti nel cursore
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Avanza al vicino successivo.
+     *
+     * @return true se esiste un vicino successivo, false se il cursore è
+     *         terminato
+     */
+    public boolean next() {
+        if (position < size) position++;
+        return position < size;
+    }
+
+    /**
+     * Restituisce l'indice del vicino corrente.
+     *
+     * @return l'indice del vicino corrente
+     * @throws NoSuchElementException
+     *                                    se {@code next()} non è stato
+     *                                    chiamato o ha restituito false
+     */
+    public int neighbourIndex() {
+        checkPosition();
+        return neighbours[position];
+    }
+
+    /**
+     * Restituisce il peso dell'arco verso il vicino corrente,
+     * {@code Double.NaN} se l'arco non è pesato.
+     *
+     * @return il peso dell'arco verso il vicino corrente
+     * @throws NoSuchElementException
+     *                                    se {@code next()} non è stato
+     *                                    chiamato o ha restituito false
+     */
+    public double weight() {
+        checkPosition();
+        return weights[position];
+    }
+
+    /*
+     * Svuota il cursore e restituisce l'operazione che lo riempie
+     */
+    IntDoubleConsumer reset() {
+        size = 0;
+        position = -1;
+        return filler;
+    }
+
+    private void add(int neighbour, double weight) {
+        if (size == neighbours.length) {
+            neighbours = Arrays.copyOf(neighbours, 2 * size);
+            weights = Arrays.copyOf(weights, 2 * size);
+        }
+        neighbours[size] = neighbour;
+        weights[size] = weight;
+        size++;
+    }
+
+    private void checkPosition() {
+        if (position < 0 || position >= size) throw new NoSuchElementException("Nessun vicino corrente");
+    }
+}
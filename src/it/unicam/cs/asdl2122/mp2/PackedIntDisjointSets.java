@@ -0,0 +1,214 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Arrays;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Collezione di insiemi disgiunti sugli interi {@code [0, size() - 1]} che
+ * occupa un solo int per elemento. Offre le stesse operazioni di
+ * {@code IntDisjointSets} più {@code setSize}.
+ *
+ * La foresta è memorizzata in un unico array: per un elemento che non è una
+ * radice la cella contiene l'indice del padre, per una radice contiene
+ * l'opposto del numero di elementi del suo albero, quindi un valore negativo.
+ * L'unione usa l'euristica "unione per dimensione": la radice dell'insieme più
+ * piccolo viene collegata sotto l'altra e a parità di dimensione il
+ * rappresentante dell'unione è quello dell'insieme del secondo elemento. La
+ * ricerca usa il dimezzamento del cammino (path halving). Ogni operazione
+ * legge e scrive quindi un solo flusso di memoria, e una collezione di n
+ * elementi occupa circa {@code 4 * n} byte.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class PackedIntDisjointSets {
+
+    /**
+     * Numero di byte occupati da ogni elemento, escluso l'overhead costante
+     * dell'oggetto e dell'array.
+     */
+    public static final int BYTES_PER_ELEMENT = Integer.BYTES;
+
+    /*
+     * cells[x] è il padre di x se x non è una radice, l'opposto della
+     * dimensione del suo insieme se x è una radice
+     */
+    private final int[] cells;
+
+    /*
+     * Numero di insiemi disgiunti correnti
+     */
+    private int sets;
+
+    /**
+     * Crea una collezione di {@code size} insiemi singoletto
+     * {@code {0}, {1}, ..., {size - 1}}.
+     *
+     * @param size
+     *                 il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se il numero di elementi è negativo
+     */
+    public PackedIntDisjointSets(int size) {
+        if (size < 0) throw new IllegalArgumentException("Numero di elementi negativo");
+        this.cells = new int[size];
+        clear();
+    }
+
+    /**
+     * Restituisce il numero di elementi della collezione.
+     *
+     * @return il numero di elementi della collezione
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti correnti
+     */
+    public int numberOfSets() {
+        return sets;
+    }
+
+    /**
+     * Determina se un elemento appartiene alla collezione.
+     *
+     * @param e
+     *              l'elemento da cercare
+     * @return true se l'elemento è nell'intervallo {@code [0, size() - 1]},
+     *         false altrimenti
+     */
+    public boolean isPresent(int e) {
+        return e >= 0 && e < cells.length;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova
+     * l'elemento passato.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme disgiunto di {@code e}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è presente
+     */
+    public int findSet(int e) {
+        checkElement(e);
+        return root(e);
+    }
+
+    /**
+     * Restituisce il numero di elementi dell'insieme disgiunto di cui fa parte
+     * l'elemento passato.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il numero di elementi dell'insieme di {@code e}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è presente
+     */
+    public int setSize(int e) {
+        checkElement(e);
+        return -cells[root(e)];
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di cui fanno parte i due elementi passati.
+     * Se gli elementi fanno già parte dello stesso insieme non fa nulla.
+     *
+     * @param e1
+     *               un elemento del primo insieme da unire
+     * @param e2
+     *               un elemento del secondo insieme da unire
+     * @return true se gli insiemi erano distinti e sono stati uniti, false se
+     *         gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi non
+     *                                       è presente
+     */
+    public boolean union(int e1, int e2) {
+        checkElement(e1);
+        checkElement(e2);
+        int root1 = root(e1);
+        int root2 = root(e2);
+        if (root1 == root2) return false;
+        //Le dimensioni sono negative: il valore minore indica l'insieme più grande
+        if (cells[root1] < cells[root2]) {
+            cells[root1] += cells[root2];
+            cells[root2] = root1;
+        } else {
+            cells[root2] += cells[root1];
+            cells[root1] = root2;
+        }
+        sets--;
+        return true;
+    }
+
+    /**
+     * Restituisce i rappresentanti degli insiemi disgiunti attualmente
+     * presenti, in ordine crescente.
+     *
+     * @return i rappresentanti correnti
+     */
+    public int[] getCurrentRepresentatives() {
+        int[] result = new int[sets];
+        int count = 0;
+        for (int x = 0; x < cells.length; x++) {
+            if (cells[x] < 0) result[count++] = x;
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce gli elementi dell'insieme disgiunto di cui fa parte un certo
+     * elemento, in ordine crescente.
+     *
+     * @param e
+     *              l'elemento di cui si vuole ottenere l'insieme disgiunto
+     * @return gli elementi dell'insieme di {@code e}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è presente
+     */
+    public int[] getCurrentElementsOfSetContaining(int e) {
+        checkElement(e);
+        int r = root(e);
+        int[] result = new int[-cells[r]];
+        int count = 0;
+        for (int x = 0; x < cells.length && count < result.length; x++) {
+            if (root(x) == r) result[count++] = x;
+        }
+        return result;
+    }
+
+    /**
+     * Riporta la collezione allo stato iniziale, con ogni elemento in un
+     * insieme singoletto.
+     */
+    public void clear() {
+        Arrays.fill(cells, -1);
+        sets = cells.length;
+    }
+
+    /*
+     * Risale fino alla radice facendo puntare ogni nodo visitato al nonno
+     * (dimezzamento del cammino)
+     */
+    private int root(int e) {
+        int parent;
+        while ((parent = cells[e]) >= 0) {
+            int grandparent = cells[parent];
+            if (grandparent < 0) return parent;
+            cells[e] = grandparent;
+            e = grandparent;
+        }
+        return e;
+    }
+
+    private void checkElement(int e) {
+        if (!isPresent(e)) throw new IndexOutOfBoundsException("Elemento fuori dall'intervallo [0, size() - 1]");
+    }
+}
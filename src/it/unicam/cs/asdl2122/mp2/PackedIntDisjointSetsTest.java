@@ -0,0 +1,76 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe PackedIntDisjointSets.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class PackedIntDisjointSetsTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PackedIntDisjointSets(-1));
+        PackedIntDisjointSets ds = new PackedIntDisjointSets(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.setSize(4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ds.getCurrentElementsOfSetContaining(3));
+    }
+
+    @Test
+    final void testUnion() {
+        PackedIntDisjointSets ds = new PackedIntDisjointSets(6);
+        assertEquals(6, ds.numberOfSets());
+        assertTrue(ds.union(0, 1));
+        // A parità di dimensione il rappresentante è quello del secondo
+        assertEquals(1, ds.findSet(0));
+        assertFalse(ds.union(1, 0));
+        // L'insieme più grande assorbe quello più piccolo
+        assertTrue(ds.union(1, 2));
+        assertEquals(1, ds.findSet(2));
+        assertEquals(3, ds.setSize(2));
+        assertTrue(ds.union(3, 4));
+        assertTrue(ds.union(4, 0));
+        assertEquals(1, ds.findSet(3));
+        assertEquals(5, ds.setSize(4));
+        assertEquals(2, ds.numberOfSets());
+        assertArrayEquals(new int[] { 1, 5 }, ds.getCurrentRepresentatives());
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 },
+                ds.getCurrentElementsOfSetContaining(3));
+        assertArrayEquals(new int[] { 5 },
+                ds.getCurrentElementsOfSetContaining(5));
+        ds.clear();
+        assertEquals(6, ds.numberOfSets());
+        assertEquals(1, ds.setSize(1));
+    }
+
+    @Test
+    final void testSameAsIntDisjointSets() {
+        Random random = new Random(11);
+        int n = 5000;
+        PackedIntDisjointSets packed = new PackedIntDisjointSets(n);
+        IntDisjointSets expected = new IntDisjointSets(n);
+        for (int k = 0; k < 4000; k++) {
+            int x = random.nextInt(n);
+            int y = random.nextInt(n);
+            assertEquals(expected.union(x, y), packed.union(x, y));
+            assertEquals(expected.numberOfSets(), packed.numberOfSets());
+        }
+        for (int k = 0; k < 1000; k++) {
+            int x = random.nextInt(n);
+            assertEquals(
+                    expected.getCurrentElementsOfSetContaining(x).length,
+                    packed.setSize(x));
+        }
+    }
+
+}
@@ -0,0 +1,389 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Ordinamento di una permutazione di indici secondo chiavi primitive di tipo
+ * double, ad esempio gli indici degli archi di un grafo secondo il loro peso.
+ * Le chiavi non vengono spostate: viene riordinato solo l'array degli indici,
+ * in modo che {@code keys[perm[0]] <= keys[perm[1]] <= ...}.
+ *
+ * L'algoritmo è un merge sort iterativo (bottom-up), quindi costa
+ * O(m log m) nel caso pessimo, non usa la ricorsione ed è stabile: indici con
+ * chiavi uguali restano nell'ordine iniziale. Un input già ordinato viene
+ * riconosciuto con un primo passaggio e restituito subito, quindi costa O(m);
+ * negli altri casi due sequenze già ordinate una rispetto all'altra vengono
+ * fuse senza confronti, ma ogni passata copia comunque tutti gli indici.
+ *
+ * {@code parallelSort} produce lo stesso risultato dividendo il lavoro tra più
+ * thread con il framework fork-join: le due metà vengono ordinate in parallelo
+ * e poi fuse, anche la fusione in parallelo dividendo le sequenze con una
+ * ricerca binaria.
+ *
+ * Per chi consuma gli indici dal più leggero e può fermarsi prima della fine,
+ * come l'algoritmo di Kruskal, la classe offre anche uno heap binario sulla
+ * permutazione ({@code heapify} e {@code pollMin}): costruirlo costa O(m) e
+ * ogni estrazione O(log m), quindi la coda pesante che non viene mai estratta
+ * non viene mai ordinata. A parità di chiave lo heap estrae prima l'indice
+ * minore, quindi partendo dalla permutazione identità l'ordine di estrazione
+ * coincide con quello di {@code sort}.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public final class PermutationSort {
+
+    /*
+     * Sotto questa dimensione ordinamenti e fusioni vengono eseguiti da un solo
+     * thread
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private PermutationSort() {
+    }
+
+    /**
+     * Ordina la permutazione data secondo le chiavi date.
+     *
+     * @param keys
+     *                 le chiavi, indicizzate con i valori di {@code perm};
+     *                 nessuna chiave può essere NaN
+     * @param perm
+     *                 gli indici da ordinare
+     * @throws NullPointerException
+     *                                       se almeno uno dei due array è
+     *                                       null
+     * @throws ArrayIndexOutOfBoundsException
+     *                                       se un indice di {@code perm} non
+     *                                       è valido per {@code keys}
+     */
+    public static void sort(double[] keys, int[] perm) {
+        if (keys == null || perm == null) throw new NullPointerException("Array null");
+        sort(keys, perm, new int[perm.length], 0, perm.length);
+    }
+
+    /*
+     * Ordina perm[from, to) usando buffer[from, to) come appoggio. Se la
+     * sequenza è già ordinata non fa altro; altrimenti le sequenze ordinate
+     * raddoppiano a ogni passata e vengono fuse alternando i due array, e alla
+     * fine il risultato viene riportato in perm se necessario. I contatori
+     * sono long perché con più di 2^30 indici raddoppiarli supererebbe il
+     * massimo valore int.
+     */
+    static void sort(double[] keys, int[] perm, int[] buffer, int from, int to) {
+        if (isSorted(keys, perm, from, to)) return;
+        int[] source = perm;
+        int[] target = buffer;
+        for (long width = 1; width < to - from; width *= 2) {
+            for (long begin = from; begin < to; begin += 2 * width) {
+                int mid = (int) Math.min(begin + width, to);
+                int end = (int) Math.min(begin + 2 * width, to);
+                merge(keys, source, target, (int) begin, mid, end);
+            }
+            int[] temp = source;
+            source = target;
+            target = temp;
+        }
+        if (source != perm) System.arraycopy(source, from, perm, from, to - from);
+    }
+
+    private static boolean isSorted(double[] keys, int[] perm, int from, int to) {
+        for (int k = from + 1; k < to; k++) {
+            if (keys[perm[k - 1]] > keys[perm[k]]) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Fonde le sequenze ordinate source[begin, mid) e source[mid, end) in
+     * target[begin, end), a parità di chiave prima gli elementi della prima
+     */
+    static void merge(double[] keys, int[] source, int[] target, int begin, int mid, int end) {
+        if (mid == end || keys[source[mid - 1]] <= keys[source[mid]]) {
+            //Le due sequenze sono già in ordine
+            System.arraycopy(source, begin, target, begin, end - begin);
+            return;
+        }
+        int i = begin;
+        int j = mid;
+        for (int k = begin; k < end; k++) {
+            if (j >= end || (i < mid && keys[source[i]] <= keys[source[j]])) {
+                target[k] = source[i++];
+            } else {
+                target[k] = source[j++];
+            }
+        }
+    }
+
+    /*
+     * Dispone perm[0, size) come min-heap binario secondo le chiavi, a parità
+     * di chiave secondo l'indice
+     */
+    static void heapify(double[] keys, int[] perm, int size) {
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(keys, perm, i, size);
+        }
+    }
+
+    /*
+     * Estrae l'indice minimo dallo heap perm[0, size), che dopo l'estrazione
+     * occupa perm[0, size - 1)
+     */
+    static int pollMin(double[] keys, int[] perm, int size) {
+        int min = perm[0];
+        perm[0] = perm[size - 1];
+        siftDown(keys, perm, 0, size - 1);
+        return min;
+    }
+
+    private static void siftDown(double[] keys, int[] perm, int i, int size) {
+        int item = perm[i];
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && precedes(keys, perm[child + 1], perm[child])) child++;
+            if (!precedes(keys, perm[child], item)) break;
+            perm[i] = perm[child];
+            i = child;
+        }
+        perm[i] = item;
+    }
+
+    /*
+     * Ordine totale usato dallo heap: prima la chiave, poi l'indice
+     */
+    private static boolean precedes(double[] keys, int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    /**
+     * Ordina la permutazione data secondo le chiavi date usando al più il
+     * numero di thread dato. Il risultato è lo stesso di
+     * {@code sort(keys, perm)}. Se il numero di thread coincide con il
+     * parallelismo del pool comune viene usato
+     * {@code ForkJoinPool.commonPool()}, altrimenti un pool creato per questa
+     * sola chiamata: chi ordina spesso con lo stesso numero di thread
+     * dovrebbe tenere un proprio pool e usare
+     * {@code parallelSort(keys, perm, pool)}.
+     *
+     * @param keys
+     *                        le chiavi, indicizzate con i valori di
+     *                        {@code perm}; nessuna chiave può essere NaN
+     * @param perm
+     *                        gli indici da ordinare
+     * @param parallelism
+     *                        il numero massimo di thread da usare
+     * @throws NullPointerException
+     *                                           se almeno uno dei due array è
+     *                                           null
+     * @throws IllegalArgumentException
+     *                                           se il numero di thread non è
+     *                                           positivo
+     * @throws ArrayIndexOutOfBoundsException
+     *                                           se un indice di {@code perm}
+     *                                           non è valido per {@code keys}
+     */
+    public static void parallelSort(double[] keys, int[] perm, int parallelism) {
+        if (keys == null || perm == null) throw new NullPointerException("Array null");
+        if (parallelism <= 0) throw new IllegalArgumentException("Numero di thread non positivo");
+        if (parallelism == 1 || perm.length <= SEQUENTIAL_THRESHOLD) {
+            sort(keys, perm);
+            return;
+        }
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+            parallelSort(keys, perm, ForkJoinPool.commonPool());
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            parallelSort(keys, perm, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Ordina la permutazione data secondo le chiavi date con i thread del pool
+     * dato. Il risultato è lo stesso di {@code sort(keys, perm)}.
+     *
+     * @param keys
+     *                 le chiavi, indicizzate con i valori di {@code perm};
+     *                 nessuna chiave può essere NaN
+     * @param perm
+     *                 gli indici da ordinare
+     * @param pool
+     *                 il pool che esegue l'ordinamento
+     * @throws NullPointerException
+     *                                           se almeno uno dei due array o
+     *                                           il pool è null
+     * @throws ArrayIndexOutOfBoundsException
+     *                                           se un indice di {@code perm}
+     *                                           non è valido per {@code keys}
+     */
+    public static void parallelSort(double[] keys, int[] perm, ForkJoinPool pool) {
+        if (keys == null || perm == null || pool == null) throw new NullPointerException("Array o pool null");
+        if (pool.getParallelism() == 1 || perm.length <= SEQUENTIAL_THRESHOLD) {
+            sort(keys, perm);
+            return;
+        }
+        pool.invoke(new SortTask(keys, perm, new int[perm.length], 0, perm.length));
+    }
+
+    /*
+     * Ordina perm[from, to): ordina le due metà in parallelo, le copia in
+     * buffer e le fonde di nuovo in perm
+     */
+    private static class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] keys;
+
+        private final int[] perm;
+
+        private final int[] buffer;
+
+        private final int from;
+
+        private final int to;
+
+        SortTask(double[] keys, int[] perm, int[] buffer, int from, int to) {
+            this.keys = keys;
+            this.perm = perm;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                sort(keys, perm, buffer, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, perm, buffer, from, mid), new SortTask(keys, perm, buffer, mid, to));
+            //Le due metà sono già in ordine
+            if (keys[perm[mid - 1]] <= keys[perm[mid]]) return;
+            System.arraycopy(perm, from, buffer, from, to - from);
+            new MergeTask(keys, buffer, from, mid, mid, to, perm, from).compute();
+        }
+    }
+
+    /*
+     * Fonde le sequenze ordinate source[begin1, end1) e source[begin2, end2),
+     * dove la prima precede la seconda nell'ordine iniziale, in target a
+     * partire da start. La sequenza più lunga viene divisa a metà e la
+     * posizione del suo elemento centrale nell'altra viene trovata con una
+     * ricerca binaria, così le due parti si possono fondere in parallelo.
+     */
+    private static class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] keys;
+
+        private final int[] source;
+
+        private final int begin1;
+
+        private final int end1;
+
+        private final int begin2;
+
+        private final int end2;
+
+        private final int[] target;
+
+        private final int start;
+
+        MergeTask(double[] keys, int[] source, int begin1, int end1, int begin2, int end2, int[] target,
+                int start) {
+            this.keys = keys;
+            this.source = source;
+            this.begin1 = begin1;
+            this.end1 = end1;
+            this.begin2 = begin2;
+            this.end2 = end2;
+            this.target = target;
+            this.start = start;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = end1 - begin1;
+            int length2 = end2 - begin2;
+            if (length1 + length2 <= SEQUENTIAL_THRESHOLD) {
+                mergeRuns(keys, source, begin1, end1, begin2, end2, target, start);
+                return;
+            }
+            int split1;
+            int split2;
+            if (length1 >= length2) {
+                //Gli elementi della seconda con chiave minore di quella centrale della prima vanno prima
+                split1 = (begin1 + end1) >>> 1;
+                split2 = firstNotLess(keys, source, begin2, end2, keys[source[split1]]);
+            } else {
+                //Gli elementi della prima con chiave minore o uguale a quella centrale della seconda vanno prima
+                split2 = (begin2 + end2) >>> 1;
+                split1 = firstGreater(keys, source, begin1, end1, keys[source[split2]]);
+            }
+            int middle = start + (split1 - begin1) + (split2 - begin2);
+            invokeAll(new MergeTask(keys, source, begin1, split1, begin2, split2, target, start),
+                    new MergeTask(keys, source, split1, end1, split2, end2, target, middle));
+        }
+    }
+
+    /*
+     * Versione sequenziale di MergeTask
+     */
+    private static void mergeRuns(double[] keys, int[] source, int begin1, int end1, int begin2, int end2,
+            int[] target, int start) {
+        int i = begin1;
+        int j = begin2;
+        int k = start;
+        while (i < end1 && j < end2) {
+            if (keys[source[i]] <= keys[source[j]]) {
+                target[k++] = source[i++];
+            } else {
+                target[k++] = source[j++];
+            }
+        }
+        System.arraycopy(source, i, target, k, end1 - i);
+        System.arraycopy(source, j, target, k + (end1 - i), end2 - j);
+    }
+
+    /*
+     * Prima posizione in source[begin, end) con chiave maggiore o uguale a key,
+     * end se non esiste
+     */
+    private static int firstNotLess(double[] keys, int[] source, int begin, int end, double key) {
+        while (begin < end) {
+            int mid = (begin + end) >>> 1;
+            if (keys[source[mid]] < key) {
+                begin = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        return begin;
+    }
+
+    /*
+     * Prima posizione in source[begin, end) con chiave maggiore di key, end se
+     * non esiste
+     */
+    private static int firstGreater(double[] keys, int[] source, int begin, int end, double key) {
+        while (begin < end) {
+            int mid = (begin + end) >>> 1;
+            if (keys[source[mid]] <= key) {
+                begin = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        return begin;
+    }
+}
@@ -0,0 +1,139 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe PermutationSort.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class PermutationSortTest {
+
+    private static int[] identity(int m) {
+        int[] perm = new int[m];
+        for (int k = 0; k < m; k++)
+            perm[k] = k;
+        return perm;
+    }
+
+    private static void assertSorted(double[] keys, int[] perm) {
+        boolean[] seen = new boolean[keys.length];
+        for (int k = 0; k < perm.length; k++) {
+            assertFalse(seen[perm[k]]);
+            seen[perm[k]] = true;
+            if (k > 0) {
+                assertTrue(keys[perm[k - 1]] <= keys[perm[k]]);
+                // Stabilità: a parità di chiave resta l'ordine iniziale
+                if (keys[perm[k - 1]] == keys[perm[k]])
+                    assertTrue(perm[k - 1] < perm[k]);
+            }
+        }
+    }
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class,
+                () -> PermutationSort.sort(null, new int[0]));
+        assertThrows(NullPointerException.class,
+                () -> PermutationSort.sort(new double[0], null));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> PermutationSort.sort(new double[1], new int[] { 0, 1 }));
+    }
+
+    @Test
+    final void testSort() {
+        double[] keys = { 3, 1, 2, 1, 0.5 };
+        int[] perm = identity(keys.length);
+        PermutationSort.sort(keys, perm);
+        assertArrayEquals(new int[] { 4, 1, 3, 2, 0 }, perm);
+        // Le chiavi non vengono spostate
+        assertArrayEquals(new double[] { 3, 1, 2, 1, 0.5 }, keys);
+        int[] empty = new int[0];
+        PermutationSort.sort(new double[0], empty);
+        assertEquals(0, empty.length);
+    }
+
+    @Test
+    final void testSortRandomSortedReversedEqual() {
+        Random random = new Random(13);
+        int m = 100000;
+        double[] randomKeys = new double[m];
+        double[] fewKeys = new double[m];
+        double[] sortedKeys = new double[m];
+        double[] reversedKeys = new double[m];
+        for (int k = 0; k < m; k++) {
+            randomKeys[k] = random.nextDouble();
+            fewKeys[k] = random.nextInt(3);
+            sortedKeys[k] = k;
+            reversedKeys[k] = m - k;
+        }
+        for (double[] keys : Arrays.asList(randomKeys, fewKeys, sortedKeys,
+                reversedKeys, new double[m])) {
+            int[] perm = identity(m);
+            PermutationSort.sort(keys, perm);
+            assertSorted(keys, perm);
+        }
+    }
+
+    @Test
+    final void testParallelSort() {
+        assertThrows(NullPointerException.class,
+                () -> PermutationSort.parallelSort(null, new int[0], 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> PermutationSort.parallelSort(new double[0], new int[0], 0));
+        assertThrows(NullPointerException.class,
+                () -> PermutationSort.parallelSort(new double[0], new int[0],
+                        (ForkJoinPool) null));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        Random random = new Random(17);
+        int m = 200000;
+        double[] randomKeys = new double[m];
+        double[] fewKeys = new double[m];
+        double[] reversedKeys = new double[m];
+        for (int k = 0; k < m; k++) {
+            randomKeys[k] = random.nextDouble();
+            fewKeys[k] = random.nextInt(3);
+            reversedKeys[k] = m - k;
+        }
+        for (double[] keys : Arrays.asList(randomKeys, fewKeys, reversedKeys,
+                new double[m])) {
+            int[] expected = identity(m);
+            PermutationSort.sort(keys, expected);
+            for (int parallelism = 1; parallelism <= 4; parallelism++) {
+                int[] perm = identity(m);
+                PermutationSort.parallelSort(keys, perm, parallelism);
+                // Stesso risultato dell'ordinamento sequenziale, stabilità compresa
+                assertArrayEquals(expected, perm);
+            }
+            // Con un pool dato, riusato per tutte le chiavi
+            int[] perm = identity(m);
+            PermutationSort.parallelSort(keys, perm, pool);
+            assertArrayEquals(expected, perm);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    final void testHeap() {
+        Random random = new Random(19);
+        int m = 50000;
+        double[] keys = new double[m];
+        for (int k = 0; k < m; k++)
+            keys[k] = random.nextInt(100);
+        int[] expected = identity(m);
+        PermutationSort.sort(keys, expected);
+        int[] heap = identity(m);
+        PermutationSort.heapify(keys, heap, m);
+        // Le estrazioni seguono l'ordine di sort, anche a parità di chiave
+        for (int k = 0; k < m; k++)
+            assertEquals(expected[k], PermutationSort.pollMin(keys, heap, m - k));
+    }
+
+}
@@ -4,16 +4,21 @@ package it.unicam.cs.asdl2122.mp2;
 //ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
 
 
-import java.util.ArrayList;
-import java.util.List;
 /**
  * Classe singoletto che implementa l'algoritmo di Prim per trovare un Minimum
  * Spanning Tree di un grafo non orientato, pesato e con pesi non negativi.
  * 
- * L'algoritmo richiede l'uso di una coda di min priorità tra i nodi che può
- * essere realizzata con una semplice ArrayList (non c'è bisogno di ottimizzare
- * le operazioni di inserimento, di estrazione del minimo, o di decremento della
- * priorità).
+ * L'algoritmo può essere eseguito in due modi (si veda {@code PrimMSP.Mode}):
+ * <ul>
+ * <li>con una coda di min priorità indicizzata sugli indici dei nodi
+ * ({@code IndexedMinPriorityQueue}), realizzata con uno heap binario:
+ * estrazione del minimo e decremento della priorità costano O(log n) e il test
+ * di appartenenza alla coda costa O(1), quindi l'algoritmo costa O(m log n),
+ * adatto ai grafi sparsi;</li>
+ * <li>con un array delle priorità e una ricerca lineare del minimo tra i nodi
+ * non ancora visitati, che costa O(n²) ed è ottimo per i grafi densi, in
+ * particolare se rappresentati con una matrice.</li>
+ * </ul>
  * 
  * Si possono usare i colori dei nodi per registrare la scoperta e la visita
  * effettuata dei nodi.
@@ -26,19 +31,57 @@ import java.util.List;
  */
 public class PrimMSP<L> {
 
-    List<GraphNode<L>> priorityQueue;
-    /*
-     * In particolare: si deve usare una coda con priorità che può semplicemente
-     * essere realizzata con una List<GraphNode<L>> e si deve mantenere un
-     * insieme dei nodi già visitati
+    /**
+     * Modo di esecuzione dell'algoritmo.
      */
+    public enum Mode {
+        /**
+         * Usa la versione per grafi densi se il grafo è rappresentato con una
+         * matrice ({@code AdjacencyMatrixUndirectedGraph} o
+         * {@code WeightMatrixUndirectedGraph}), dove visitare i vicini di un
+         * nodo costa comunque O(n), e la versione con lo heap altrimenti.
+         */
+        AUTO,
+        /**
+         * Usa sempre la coda di priorità con lo heap binario, O(m log n).
+         */
+        HEAP,
+        /**
+         * Usa sempre l'array delle priorità con ricerca lineare del minimo,
+         * O(n²).
+         */
+        DENSE
+    }
+
+    private final Mode mode;
 
     /**
-     * Crea un nuovo algoritmo e inizializza la coda di priorità con una coda
-     * vuota.
+     * Crea un nuovo algoritmo in modo {@code Mode.AUTO}.
      */
     public PrimMSP() {
-        priorityQueue = new ArrayList<>();
+        this(Mode.AUTO);
+    }
+
+    /**
+     * Crea un nuovo algoritmo che viene eseguito nel modo dato.
+     *
+     * @param mode
+     *                 il modo di esecuzione dell'algoritmo
+     * @throws NullPointerException
+     *                                  se il modo è null
+     */
+    public PrimMSP(Mode mode) {
+        if (mode == null) throw new NullPointerException("Modo null");
+        this.mode = mode;
+    }
+
+    /**
+     * Restituisce il modo di esecuzione di questo algoritmo.
+     *
+     * @return il modo di esecuzione di questo algoritmo
+     */
+    public Mode getMode() {
+        return mode;
     }
 
     /**
@@ -48,6 +91,9 @@ public class PrimMSP<L> {
      * previous deve contenere un puntatore a un nodo in accordo all'albero di
      * copertura minimo calcolato, la cui radice è il nodo sorgente passato.
      * 
+     * Equivale a chiamare {@code compute(g, s)} e copiare il risultato nei nodi
+     * del grafo con {@code TraversalState.copyTo}.
+     * 
      * @param g
      *              un grafo non orientato, pesato, con pesi non negativi
      * @param s
@@ -61,49 +107,117 @@ public class PrimMSP<L> {
      *        con pesi negativi
      */
     public void computeMSP(Graph<L> g, GraphNode<L> s) {
+        compute(g, s).copyTo(g);
+    }
+
+    /**
+     * Utilizza l'algoritmo goloso di Prim per trovare un albero di copertura
+     * minimo in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi, senza modificare i nodi del grafo. Il risultato è restituito
+     * come stato dell'esecuzione: per ogni nodo il precedente nell'albero di
+     * copertura, la cui radice è il nodo sorgente passato, e come distanza il
+     * peso dell'arco che lo collega al precedente. Tutti i nodi hanno colore
+     * {@code GraphNode.COLOR_BLACK}; i nodi non raggiungibili dalla sorgente
+     * hanno distanza {@code Double.POSITIVE_INFINITY} e nessun precedente.
+     * 
+     * Ogni chiamata usa solo strutture proprie, quindi lo stesso algoritmo può
+     * essere eseguito contemporaneamente da più thread sullo stesso grafo, se
+     * il grafo non viene modificato.
+     * 
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @param s
+     *              il nodo del grafo g sorgente, cioè da cui parte il calcolo
+     *              dell'albero di copertura minimo
+     * @return lo stato dell'esecuzione, indicizzato con gli indici dei nodi in
+     *         g
+     * 
+     * @throws NullPointerException se il grafo g o il nodo sorgente s sono nulli
+     * @throws IllegalArgumentException se il nodo sorgente s non esiste in g
+     * @throws IllegalArgumentException se il grafo g è orientato, non pesato o
+     *        con pesi negativi
+     */
+    public TraversalState compute(Graph<L> g, GraphNode<L> s) {
         if(g == null || s == null) throw new NullPointerException("Grafo o nodo null");
         if(g.getNode(s) == null) throw new IllegalArgumentException("Il nodo non appartiene al grafo");
         if(g.isDirected()) throw new IllegalArgumentException("Grafo orientato");
 
-        //Imposto floatingpointDistance, previous e colore di ogni nodo
-        for(GraphNode<L> node: g.getNodes()) {
-            if(!node.equals(s)) {
-                node.setFloatingPointDistance(Double.POSITIVE_INFINITY);
-            } else {
-                //il nodo corrisponde ad s
-                node.setFloatingPointDistance(0);
-            }
-            priorityQueue.add(node);
-            node.setColor(GraphNode.COLOR_WHITE);
-            node.setPrevious(null);
+        TraversalState state = new TraversalState(g.nodeCount());
+        state.setDistance(g.getNodeIndexOf(s), 0);
+        boolean dense = mode == Mode.DENSE || (mode == Mode.AUTO && (g instanceof AdjacencyMatrixUndirectedGraph
+                || g instanceof WeightMatrixUndirectedGraph));
+        if (dense) {
+            computeDense(g, state);
+        } else {
+            computeHeap(g, state);
+        }
+        return state;
+    }
+
+    /*
+     * Versione con lo heap: la coda contiene gli indici dei nodi non ancora
+     * estratti, con priorità pari alla loro distanza nello stato
+     */
+    private void computeHeap(Graph<L> g, TraversalState state) {
+        int n = g.nodeCount();
+        IndexedMinPriorityQueue priorityQueue = new IndexedMinPriorityQueue(n);
+        for(int i = 0; i < n; i++) {
+            priorityQueue.insert(i, state.getDistance(i));
         }
 
+        //Cursore riusato per visitare i vicini di ogni nodo estratto senza creare insiemi né archi
+        NeighbourCursor cursor = new NeighbourCursor();
         while(!priorityQueue.isEmpty()) {
-            GraphNode<L> u = extractMin();
-            u.setColor(GraphNode.COLOR_BLACK);
-            for(GraphNode<L> v : g.getAdjacentNodesOf(u)) {
-                if(!g.getEdge(u, v).hasWeight()) throw new IllegalArgumentException();
-                if(g.getEdge(u, v).getWeight() < 0) throw new IllegalArgumentException();
-                //Se il nodo v fa parte della priority queue e il suo floatingdistance è maggiore del peso dell'
-                //arco tra u e v allora aggiorno il floatingDistance con il peso dell'arco e scopro il nodo
-                //colorandolo di nero
-                if(priorityQueue.contains(v) && g.getEdge(u, v).getWeight() < v.getFloatingPointDistance()) {
-                    v.setFloatingPointDistance(g.getEdge(u, v).getWeight());
-                    v.setPrevious(u);
-                    v.setColor(GraphNode.COLOR_BLACK);
+            int u = priorityQueue.extractMin();
+            state.setColor(u, GraphNode.COLOR_BLACK);
+            g.neighbours(u, cursor);
+            while(cursor.next()) {
+                double weight = cursor.weight();
+                if(Double.isNaN(weight)) throw new IllegalArgumentException();
+                if(weight < 0) throw new IllegalArgumentException();
+                int v = cursor.neighbourIndex();
+                //Se il nodo v fa parte della priority queue e la sua priorità è maggiore del peso dell'arco tra u
+                //e v allora diminuisco la priorità al peso dell'arco e scopro il nodo colorandolo di nero
+                if(priorityQueue.contains(v) && weight < priorityQueue.getKey(v)) {
+                    priorityQueue.decreaseKey(v, weight);
+                    state.setDistance(v, weight);
+                    state.setPrevious(v, u);
+                    state.setColor(v, GraphNode.COLOR_BLACK);
                 }
             }
         }
 
     }
 
-    private GraphNode<L> extractMin() {
-        GraphNode<L> min = priorityQueue.get(0);
-        for(int i = 1; i < priorityQueue.size(); i++) {
-            if(priorityQueue.get(i).getFloatingPointDistance() < min.getFloatingPointDistance())
-                min = priorityQueue.get(i);
+    /*
+     * Versione per grafi densi: le priorità sono le distanze nello stato e a
+     * ogni passo il minimo viene cercato scorrendo i nodi non visitati, cioè
+     * quelli ancora bianchi. I vicini vengono letti per indice con
+     * forEachNeighbour, che nelle rappresentazioni a matrice scorre la riga
+     * senza cercare né creare archi.
+     */
+    private void computeDense(Graph<L> g, TraversalState state) {
+        int n = g.nodeCount();
+        NeighbourCursor cursor = new NeighbourCursor();
+        for (int step = 0; step < n; step++) {
+            //Cerco il nodo non visitato con priorità minima, a parità quello con indice minore
+            int u = -1;
+            for (int i = 0; i < n; i++) {
+                if (state.getColor(i) == GraphNode.COLOR_WHITE
+                        && (u == -1 || state.getDistance(i) < state.getDistance(u))) u = i;
+            }
+            state.setColor(u, GraphNode.COLOR_BLACK);
+            g.neighbours(u, cursor);
+            while (cursor.next()) {
+                double weight = cursor.weight();
+                if (Double.isNaN(weight)) throw new IllegalArgumentException();
+                if (weight < 0) throw new IllegalArgumentException();
+                int v = cursor.neighbourIndex();
+                if (state.getColor(v) == GraphNode.COLOR_WHITE && weight < state.getDistance(v)) {
+                    state.setDistance(v, weight);
+                    state.setPrevious(v, u);
+                }
+            }
         }
-        priorityQueue.remove(min);
-        return min;
     }
 }
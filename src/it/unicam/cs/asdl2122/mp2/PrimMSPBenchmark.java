@@ -0,0 +1,141 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Semplice programma di misura dei tempi di {@code PrimMSP}, da eseguire a
+ * mano con il metodo {@code main}. Confronta i due modi di esecuzione, con lo
+ * heap indicizzato ({@code PrimMSP.Mode.HEAP}) e con l'array delle priorità
+ * ({@code PrimMSP.Mode.DENSE}), con l'implementazione precedente, che teneva
+ * la coda in una lista con estrazione del minimo e test di appartenenza
+ * lineari, su due famiglie di grafi:
+ * <ul>
+ * <li>grafi sparsi simili a reti stradali, rappresentati con liste di
+ * adiacenza: una griglia con qualche scorciatoia, circa quattro archi per
+ * nodo;</li>
+ * <li>grafi completi, come le matrici di similarità tra coppie, rappresentati
+ * con una matrice di adiacenza.</li>
+ * </ul>
+ * Sui grafi sparsi la lista e l'array costano O(n²) contro O(m log n) dello
+ * heap, mentre sui grafi completi l'array costa O(n²) contro O(n² log n) dello
+ * heap.
+ *
+ * I tempi sono indicativi: ogni misura è la migliore di alcune ripetizioni
+ * dopo un riscaldamento della JVM.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class PrimMSPBenchmark {
+
+    private static final int REPETITIONS = 3;
+
+    /**
+     * Esegue le misure e le stampa sullo standard output.
+     *
+     * @param args
+     *                 non usati
+     */
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        //Riscaldamento
+        run(sparseGraph(2000, random));
+        System.out.println("grafo\t\tn\tm\theap (ms)\tarray (ms)\tlista (ms)");
+        for (int n = 1000; n <= 16000; n *= 2) {
+            print("sparso", sparseGraph(n, random));
+        }
+        for (int n = 250; n <= 2000; n *= 2) {
+            print("completo", completeGraph(n, random));
+        }
+    }
+
+    private static void print(String kind, Graph<Integer> g) {
+        long[] times = run(g);
+        System.out.println(kind + "\t\t" + g.nodeCount() + "\t" + g.edgeCount() + "\t" + times[0] / 1000000.0
+                + "\t" + times[1] / 1000000.0 + "\t" + times[2] / 1000000.0);
+    }
+
+    /*
+     * Restituisce il tempo migliore in nanosecondi delle tre implementazioni
+     */
+    private static long[] run(Graph<Integer> g) {
+        PrimMSP<Integer> heapPrim = new PrimMSP<Integer>(PrimMSP.Mode.HEAP);
+        PrimMSP<Integer> densePrim = new PrimMSP<Integer>(PrimMSP.Mode.DENSE);
+        GraphNode<Integer> s = g.getNode(0);
+        long heap = Long.MAX_VALUE;
+        long dense = Long.MAX_VALUE;
+        long list = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            heapPrim.computeMSP(g, s);
+            heap = Math.min(heap, System.nanoTime() - start);
+            start = System.nanoTime();
+            densePrim.computeMSP(g, s);
+            dense = Math.min(dense, System.nanoTime() - start);
+            start = System.nanoTime();
+            listPrim(g, s);
+            list = Math.min(list, System.nanoTime() - start);
+        }
+        return new long[] { heap, dense, list };
+    }
+
+    /*
+     * Griglia di lato circa radice di n con pesi casuali, più n / 10
+     * scorciatoie tra nodi casuali
+     */
+    private static Graph<Integer> sparseGraph(int n, Random random) {
+        int side = (int) Math.ceil(Math.sqrt(n));
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        for (int i = 0; i < n; i++) {
+            b.addNode(i);
+            if (i % side != 0) b.addWeightedEdge(i - 1, i, random.nextDouble());
+            if (i >= side) b.addWeightedEdge(i - side, i, random.nextDouble());
+        }
+        for (int k = 0; k < n / 10; k++) {
+            b.addWeightedEdge(random.nextInt(n), random.nextInt(n), random.nextDouble());
+        }
+        return b.buildAdjacencyListGraph();
+    }
+
+    private static Graph<Integer> completeGraph(int n, Random random) {
+        GraphBuilder<Integer> b = new GraphBuilder<Integer>();
+        for (int i = 0; i < n; i++) {
+            b.addNode(i);
+            for (int j = 0; j < i; j++) {
+                b.addWeightedEdge(j, i, random.nextDouble());
+            }
+        }
+        return b.buildAdjacencyMatrixGraph();
+    }
+
+    /*
+     * Implementazione precedente di PrimMSP.computeMSP, con la coda tenuta in
+     * una lista
+     */
+    private static <L> void listPrim(Graph<L> g, GraphNode<L> s) {
+        List<GraphNode<L>> queue = new ArrayList<GraphNode<L>>();
+        for (GraphNode<L> node : g.getNodes()) {
+            node.setFloatingPointDistance(node.equals(s) ? 0 : Double.POSITIVE_INFINITY);
+            node.setPrevious(null);
+            queue.add(node);
+        }
+        while (!queue.isEmpty()) {
+            GraphNode<L> u = queue.get(0);
+            for (int i = 1; i < queue.size(); i++) {
+                if (queue.get(i).getFloatingPointDistance() < u.getFloatingPointDistance()) u = queue.get(i);
+            }
+            queue.remove(u);
+            for (GraphNode<L> v : g.getAdjacentNodesOf(u)) {
+                double weight = g.getEdge(u, v).getWeight();
+                if (queue.contains(v) && weight < v.getFloatingPointDistance()) {
+                    v.setFloatingPointDistance(weight);
+                    v.setPrevious(u);
+                }
+            }
+        }
+    }
+}
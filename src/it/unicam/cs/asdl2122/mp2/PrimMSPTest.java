@@ -2,6 +2,9 @@ package it.unicam.cs.asdl2122.mp2;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -302,4 +305,83 @@ class PrimMSPTest {
         assertTrue(c.getFloatingPointDistance() == Double.POSITIVE_INFINITY);
         assertTrue(c.getColor() == GraphNode.COLOR_BLACK);
     }
+
+    @Test
+    final void testModes() {
+        assertThrows(NullPointerException.class,
+                () -> new PrimMSP<String>(null));
+        assertTrue(new PrimMSP<String>().getMode() == PrimMSP.Mode.AUTO);
+        GraphBuilder<String> builder = new GraphBuilder<String>();
+        builder.addWeightedEdge("a", "b", 4);
+        builder.addWeightedEdge("a", "h", 8.5);
+        builder.addWeightedEdge("b", "h", 11);
+        builder.addWeightedEdge("b", "c", 8);
+        builder.addWeightedEdge("c", "i", 2);
+        builder.addWeightedEdge("c", "d", 7);
+        builder.addWeightedEdge("c", "f", 4);
+        builder.addWeightedEdge("d", "f", 14);
+        builder.addWeightedEdge("d", "e", 9);
+        builder.addWeightedEdge("e", "f", 10);
+        builder.addWeightedEdge("f", "g", 2);
+        builder.addWeightedEdge("g", "i", 6);
+        builder.addWeightedEdge("g", "h", 1);
+        builder.addWeightedEdge("h", "i", 7);
+        builder.addNode("z");
+        String[] labels = { "a", "b", "c", "d", "e", "f", "g", "h", "i", "z" };
+        String[] previous = { null, "a", "b", "c", "d", "c", "f", "g", "c",
+                null };
+        double[] distances = { 0, 4, 8, 7, 9, 4, 2, 1, 2,
+                Double.POSITIVE_INFINITY };
+        for (PrimMSP.Mode mode : PrimMSP.Mode.values()) {
+            PrimMSP<String> alg = new PrimMSP<String>(mode);
+            List<Graph<String>> graphs = new ArrayList<Graph<String>>();
+            graphs.add(builder.buildAdjacencyMatrixGraph());
+            graphs.add(builder.buildAdjacencyListGraph());
+            graphs.add(builder.buildWeightMatrixGraph());
+            for (Graph<String> gr : graphs) {
+                alg.computeMSP(gr, gr.getNode("a"));
+                for (int k = 0; k < labels.length; k++) {
+                    GraphNode<String> node = gr.getNode(labels[k]);
+                    if (previous[k] == null)
+                        assertTrue(node.getPrevious() == null);
+                    else
+                        assertTrue(node.getPrevious() == gr
+                                .getNode(previous[k]));
+                    assertTrue(
+                            node.getFloatingPointDistance() == distances[k]);
+                    assertTrue(node.getColor() == GraphNode.COLOR_BLACK);
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testComputeLeavesNodesUntouched() {
+        GraphBuilder<String> builder = new GraphBuilder<String>();
+        builder.addWeightedEdge("a", "b", 3);
+        builder.addWeightedEdge("b", "c", 1);
+        builder.addWeightedEdge("a", "c", 2);
+        for (PrimMSP.Mode mode : PrimMSP.Mode.values()) {
+            Graph<String> gr = builder.buildAdjacencyListGraph();
+            PrimMSP<String> alg = new PrimMSP<String>(mode);
+            TraversalState state = alg.compute(gr, gr.getNode("c"));
+            for (GraphNode<String> node : gr.getNodes()) {
+                assertTrue(node.getPrevious() == null);
+                assertTrue(node.getColor() == GraphNode.COLOR_WHITE);
+            }
+            int a = gr.getNodeIndexOf("a");
+            int b = gr.getNodeIndexOf("b");
+            int c = gr.getNodeIndexOf("c");
+            assertEquals(TraversalState.NO_PREVIOUS, state.getPrevious(c));
+            assertEquals(c, state.getPrevious(a));
+            assertEquals(c, state.getPrevious(b));
+            assertTrue(state.getDistance(a) == 2);
+            assertTrue(state.getDistance(b) == 1);
+            assertTrue(state.getDistance(c) == 0);
+            // Un secondo stato sullo stesso grafo è indipendente dal primo
+            TraversalState other = alg.compute(gr, gr.getNode("a"));
+            assertEquals(TraversalState.NO_PREVIOUS, other.getPrevious(a));
+            assertEquals(c, state.getPrevious(a));
+        }
+    }
 }
@@ -0,0 +1,290 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Implementazione dell'interfaccia {@code DisjointSets<E>} che permette di
+ * annullare le operazioni eseguite: {@code checkpoint()} registra lo stato
+ * corrente e {@code rollback()} riporta la collezione all'ultimo stato
+ * registrato, annullando in ordine inverso le chiamate di {@code makeSet} e
+ * {@code union} successive.
+ *
+ * Per rendere ogni operazione annullabile in tempo costante l'unione usa
+ * l'euristica "unione per rango", con lo stesso criterio di
+ * {@code ForestDisjointSets}, ma la ricerca non comprime il cammino: un'unione
+ * modifica solo il padre di una radice ed eventualmente il rango dell'altra, e
+ * queste modifiche vengono salvate in una pila. Il costo di {@code findSet} è
+ * quindi O(log n) e il costo di {@code rollback()} è proporzionale al numero
+ * di operazioni annullate.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class RollbackDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Voce della pila per un makeSet, che si annulla rimuovendo l'ultimo
+     * elemento inserito. Le voci delle unioni sono non negative e valgono
+     * 2 * figlio + 1 se il rango della nuova radice è stato incrementato,
+     * 2 * figlio altrimenti, dove figlio è l'indice della radice collegata.
+     */
+    private static final int MAKE_SET = -1;
+
+    /*
+     * Indice di ogni elemento e elemento di ogni indice
+     */
+    private final Map<E, Integer> indices;
+
+    private final ArrayList<E> items;
+
+    /*
+     * Foresta sugli indici: padre, rango, dimensione dell'albero (significativa
+     * per le radici) e successore nella lista circolare dei membri
+     * dell'insieme. Le prime items.size() posizioni sono significative.
+     */
+    private int[] parent;
+
+    private int[] rank;
+
+    private int[] size;
+
+    private int[] next;
+
+    /*
+     * Rappresentanti correnti e loro vista non modificabile
+     */
+    private final Set<E> representatives;
+
+    private final Set<E> representativesView;
+
+    /*
+     * Pila delle operazioni eseguite dopo il primo checkpoint, significativa
+     * nelle prime logSize posizioni
+     */
+    private int[] log;
+
+    private int logSize;
+
+    /*
+     * Pila dei checkpoint: ognuno è la dimensione della pila delle operazioni
+     * al momento della chiamata
+     */
+    private int[] checkpoints;
+
+    private int checkpointCount;
+
+    /**
+     * Crea una collezione vuota senza checkpoint.
+     */
+    public RollbackDisjointSets() {
+        this.indices = new HashMap<E, Integer>();
+        this.items = new ArrayList<E>();
+        this.parent = new int[16];
+        this.rank = new int[16];
+        this.size = new int[16];
+        this.next = new int[16];
+        this.representatives = new HashSet<E>();
+        this.representativesView = Collections.unmodifiableSet(representatives);
+        this.log = new int[16];
+        this.logSize = 0;
+        this.checkpoints = new int[4];
+        this.checkpointCount = 0;
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null) throw new NullPointerException("Elemento di isPresent null");
+        return indices.containsKey(e);
+    }
+
+    @Override
+    public void makeSet(E e) {
+        if (e == null) throw new NullPointerException("elemento di makeset null");
+        if (indices.containsKey(e)) throw new IllegalArgumentException("Elemento di makeset già presente");
+        int x = items.size();
+        if (x == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * x);
+            rank = Arrays.copyOf(rank, 2 * x);
+            size = Arrays.copyOf(size, 2 * x);
+            next = Arrays.copyOf(next, 2 * x);
+        }
+        parent[x] = x;
+        rank[x] = 0;
+        size[x] = 1;
+        next[x] = x;
+        indices.put(e, x);
+        items.add(e);
+        representatives.add(e);
+        push(MAKE_SET);
+    }
+
+    @Override
+    public E findSet(E e) {
+        if (e == null) throw new NullPointerException("Elemento di findSet null");
+        Integer x = indices.get(e);
+        if (x == null) return null;
+        return items.get(root(x));
+    }
+
+    @Override
+    public void union(E e1, E e2) {
+        if (e1 == null || e2 == null) throw new NullPointerException("E1 o E2 null");
+        Integer x1 = indices.get(e1);
+        Integer x2 = indices.get(e2);
+        if (x1 == null || x2 == null) throw new IllegalArgumentException("e1 o e2 non presenti negli insiemi");
+        int root1 = root(x1);
+        int root2 = root(x2);
+        if (root1 == root2) return;
+        //A parità di rango la radice dell'unione è quella di e2, come in ForestDisjointSets
+        int child = root1;
+        int root = root2;
+        if (rank[root1] > rank[root2]) {
+            child = root2;
+            root = root1;
+        }
+        boolean increment = rank[child] == rank[root];
+        parent[child] = root;
+        size[root] += size[child];
+        if (increment) rank[root]++;
+        swapNext(child, root);
+        representatives.remove(items.get(child));
+        push(2 * child + (increment ? 1 : 0));
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        return representativesView;
+    }
+
+    @Override
+    public int numberOfSets() {
+        return representatives.size();
+    }
+
+    @Override
+    public int setSize(E e) {
+        if (e == null) throw new NullPointerException("Elemento di setSize null");
+        Integer x = indices.get(e);
+        if (x == null) throw new IllegalArgumentException("Elemento non contenuto");
+        return size[root(x)];
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        if (e == null) throw new NullPointerException("element null");
+        Integer start = indices.get(e);
+        if (start == null) throw new IllegalArgumentException("Elemento non contenuto");
+        Set<E> result = new HashSet<E>();
+        int x = start;
+        do {
+            result.add(items.get(x));
+            x = next[x];
+        } while (x != start);
+        return result;
+    }
+
+    /*
+     * Svuota anche la pila delle operazioni e quella dei checkpoint
+     */
+    @Override
+    public void clear() {
+        indices.clear();
+        items.clear();
+        representatives.clear();
+        logSize = 0;
+        checkpointCount = 0;
+    }
+
+    /**
+     * Registra lo stato corrente, a cui si potrà tornare con
+     * {@code rollback()}. I checkpoint si annidano: ogni {@code rollback()}
+     * torna all'ultimo checkpoint non ancora usato.
+     */
+    public void checkpoint() {
+        if (checkpointCount == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, 2 * checkpointCount);
+        checkpoints[checkpointCount++] = logSize;
+    }
+
+    /**
+     * Restituisce il numero di checkpoint registrati e non ancora usati.
+     *
+     * @return il numero di checkpoint registrati e non ancora usati
+     */
+    public int checkpointCount() {
+        return checkpointCount;
+    }
+
+    /**
+     * Riporta la collezione allo stato dell'ultimo checkpoint registrato,
+     * annullando in ordine inverso le operazioni eseguite dopo di esso, e
+     * rimuove il checkpoint.
+     *
+     * @throws IllegalStateException
+     *                                   se non ci sono checkpoint registrati
+     */
+    public void rollback() {
+        if (checkpointCount == 0) throw new IllegalStateException("Nessun checkpoint registrato");
+        int target = checkpoints[--checkpointCount];
+        while (logSize > target) {
+            undo(log[--logSize]);
+        }
+    }
+
+    private void undo(int entry) {
+        if (entry == MAKE_SET) {
+            E e = items.remove(items.size() - 1);
+            indices.remove(e);
+            representatives.remove(e);
+            return;
+        }
+        int child = entry >>> 1;
+        int root = parent[child];
+        if ((entry & 1) == 1) rank[root]--;
+        size[root] -= size[child];
+        //Lo scambio dei successori è l'inverso di se stesso
+        swapNext(child, root);
+        parent[child] = child;
+        representatives.add(items.get(child));
+    }
+
+    /*
+     * Senza checkpoint nessuna operazione potrà essere annullata, quindi non
+     * serve registrarla
+     */
+    private void push(int entry) {
+        if (checkpointCount == 0) return;
+        if (logSize == log.length) log = Arrays.copyOf(log, 2 * logSize);
+        log[logSize++] = entry;
+    }
+
+    /*
+     * Scambiare i successori di due nodi di liste circolari distinte le
+     * concatena, scambiarli di nuovo le separa
+     */
+    private void swapNext(int x, int y) {
+        int temp = next[x];
+        next[x] = next[y];
+        next[y] = temp;
+    }
+
+    /*
+     * Risale fino alla radice senza modificare i padri, in modo che le unioni
+     * restino annullabili
+     */
+    private int root(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,128 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe RollbackDisjointSets.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class RollbackDisjointSetsTest {
+
+    @Test
+    final void testExceptions() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(NullPointerException.class, () -> ds.findSet(null));
+        assertThrows(IllegalStateException.class, () -> ds.rollback());
+        ds.makeSet(1);
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> ds.setSize(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.getCurrentElementsOfSetContaining(2));
+    }
+
+    @Test
+    final void testUnion() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        for (int i = 1; i <= 5; i++)
+            ds.makeSet(i);
+        // Stesso criterio di ForestDisjointSets
+        ds.union(1, 2);
+        assertTrue(ds.findSet(1).equals(2));
+        ds.union(2, 3);
+        assertTrue(ds.findSet(3).equals(2));
+        ds.union(4, 5);
+        ds.union(5, 1);
+        assertTrue(ds.findSet(4).equals(2));
+        assertEquals(1, ds.numberOfSets());
+        assertEquals(5, ds.setSize(5));
+        assertEquals(5, ds.getCurrentElementsOfSetContaining(3).size());
+    }
+
+    @Test
+    final void testRollback() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        for (int i = 1; i <= 4; i++)
+            ds.makeSet(i);
+        ds.union(1, 2);
+        ds.checkpoint();
+        ds.makeSet(5);
+        ds.union(2, 3);
+        ds.union(5, 4);
+        ds.checkpoint();
+        ds.union(3, 4);
+        assertEquals(1, ds.numberOfSets());
+        assertEquals(2, ds.checkpointCount());
+
+        ds.rollback();
+        assertEquals(2, ds.numberOfSets());
+        assertFalse(ds.findSet(3).equals(ds.findSet(4)));
+        assertTrue(ds.findSet(5).equals(ds.findSet(4)));
+        assertEquals(3, ds.setSize(1));
+
+        ds.rollback();
+        assertEquals(0, ds.checkpointCount());
+        assertFalse(ds.isPresent(5));
+        assertEquals(3, ds.numberOfSets());
+        Set<Integer> expected = new HashSet<Integer>();
+        expected.add(2);
+        expected.add(3);
+        expected.add(4);
+        assertTrue(ds.getCurrentRepresentatives().equals(expected));
+        assertTrue(ds.findSet(1).equals(2));
+        assertEquals(1, ds.getCurrentElementsOfSetContaining(3).size());
+        assertEquals(2, ds.getCurrentElementsOfSetContaining(1).size());
+        // Dopo l'annullamento l'elemento rimosso può essere reinserito
+        ds.makeSet(5);
+        assertEquals(4, ds.numberOfSets());
+    }
+
+    @Test
+    final void testRandomRollback() {
+        Random random = new Random(3);
+        int n = 200;
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        for (int i = 0; i < n; i++)
+            ds.makeSet(i);
+        for (int k = 0; k < 50; k++)
+            ds.union(random.nextInt(n), random.nextInt(n));
+        Integer[] before = new Integer[n];
+        for (int i = 0; i < n; i++)
+            before[i] = ds.findSet(i);
+        int sets = ds.numberOfSets();
+        ds.checkpoint();
+        for (int k = 0; k < 300; k++)
+            ds.union(random.nextInt(n), random.nextInt(n));
+        ds.rollback();
+        assertEquals(sets, ds.numberOfSets());
+        for (int i = 0; i < n; i++) {
+            assertTrue(ds.findSet(i).equals(before[i]));
+            assertEquals(ds.getCurrentElementsOfSetContaining(i).size(),
+                    ds.setSize(i));
+        }
+    }
+
+    @Test
+    final void testClear() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        ds.makeSet(1);
+        ds.checkpoint();
+        ds.makeSet(2);
+        ds.clear();
+        assertEquals(0, ds.numberOfSets());
+        assertEquals(0, ds.checkpointCount());
+        assertFalse(ds.isPresent(1));
+        ds.makeSet(2);
+        assertTrue(ds.findSet(2).equals(2));
+    }
+
+}
@@ -0,0 +1,185 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.Arrays;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Stato di una singola esecuzione di un algoritmo su un grafo: per ogni nodo,
+ * identificato dal suo indice nel grafo, memorizza la distanza, l'indice del
+ * nodo precedente e il colore, negli stessi significati dei campi
+ * corrispondenti di {@code GraphNode}.
+ *
+ * Gli algoritmi che scrivono il loro risultato in un oggetto di questa classe
+ * invece che nei nodi del grafo non modificano i nodi, quindi più esecuzioni
+ * sullo stesso grafo, anche in thread diversi, non interferiscono tra loro.
+ * Se serve, il risultato può essere copiato nei nodi con {@code copyTo}.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+public class TraversalState {
+
+    /**
+     * Valore di {@code getPrevious} per i nodi senza precedente.
+     */
+    public static final int NO_PREVIOUS = -1;
+
+    private final double[] distances;
+
+    private final int[] previous;
+
+    private final int[] colors;
+
+    /**
+     * Crea lo stato di un'esecuzione su un grafo con il numero di nodi dato.
+     * Inizialmente ogni nodo ha distanza {@code Double.POSITIVE_INFINITY},
+     * nessun precedente e colore {@code GraphNode.COLOR_WHITE}.
+     *
+     * @param nodeCount
+     *                      il numero di nodi del grafo
+     * @throws IllegalArgumentException
+     *                                      se il numero di nodi è negativo
+     */
+    public TraversalState(int nodeCount) {
+        if (nodeCount < 0) throw new IllegalArgumentException("Numero di nodi negativo");
+        this.distances = new double[nodeCount];
+        this.previous = new int[nodeCount];
+        this.colors = new int[nodeCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(previous, NO_PREVIOUS);
+        Arrays.fill(colors, GraphNode.COLOR_WHITE);
+    }
+
+    /**
+     * Restituisce il numero di nodi di questo stato.
+     *
+     * @return il numero di nodi di questo stato
+     */
+    public int nodeCount() {
+        return distances.length;
+    }
+
+    /**
+     * Restituisce la distanza del nodo con l'indice dato.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la distanza del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public double getDistance(int i) {
+        return distances[i];
+    }
+
+    /**
+     * Imposta la distanza del nodo con l'indice dato.
+     *
+     * @param i
+     *                     l'indice del nodo
+     * @param distance
+     *                     la nuova distanza
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public void setDistance(int i, double distance) {
+        distances[i] = distance;
+    }
+
+    /**
+     * Restituisce l'indice del precedente del nodo con l'indice dato.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return l'indice del precedente, {@code NO_PREVIOUS} se non c'è
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public int getPrevious(int i) {
+        return previous[i];
+    }
+
+    /**
+     * Imposta il precedente del nodo con l'indice dato.
+     *
+     * @param i
+     *                 l'indice del nodo
+     * @param prev
+     *                 l'indice del precedente, {@code NO_PREVIOUS} se non c'è
+     * @throws IndexOutOfBoundsException
+     *                                       se un indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public void setPrevious(int i, int prev) {
+        if (prev != NO_PREVIOUS && (prev < 0 || prev >= previous.length))
+            throw new IndexOutOfBoundsException("Indice del precedente non valido");
+        previous[i] = prev;
+    }
+
+    /**
+     * Restituisce il colore del nodo con l'indice dato.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il colore del nodo, uno tra {@code GraphNode.COLOR_WHITE},
+     *         {@code GraphNode.COLOR_GREY} e {@code GraphNode.COLOR_BLACK}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public int getColor(int i) {
+        return colors[i];
+    }
+
+    /**
+     * Imposta il colore del nodo con l'indice dato.
+     *
+     * @param i
+     *                  l'indice del nodo
+     * @param color
+     *                  il nuovo colore
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice è fuori
+     *                                       dall'intervallo
+     *                                       {@code [0, nodeCount() - 1]}
+     */
+    public void setColor(int i, int color) {
+        colors[i] = color;
+    }
+
+    /**
+     * Copia questo stato nei campi floatingPointDistance, previous e color dei
+     * nodi del grafo dato, che deve essere quello su cui lo stato è stato
+     * calcolato.
+     *
+     * @param g
+     *              il grafo
+     * @param <L>
+     *              tipo delle etichette dei nodi del grafo
+     * @throws NullPointerException
+     *                                      se il grafo è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo non ha lo stesso numero
+     *                                      di nodi di questo stato
+     */
+    public <L> void copyTo(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Grafo null");
+        if (g.nodeCount() != nodeCount())
+            throw new IllegalArgumentException("Il grafo non ha lo stesso numero di nodi dello stato");
+        for (int i = 0; i < distances.length; i++) {
+            GraphNode<L> node = g.getNode(i);
+            node.setFloatingPointDistance(distances[i]);
+            node.setPrevious(previous[i] == NO_PREVIOUS ? null : g.getNode(previous[i]));
+            node.setColor(colors[i]);
+        }
+    }
+}
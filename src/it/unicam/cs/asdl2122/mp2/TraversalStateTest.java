@@ -0,0 +1,62 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe TraversalState.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ */
+class TraversalStateTest {
+
+    @Test
+    final void testTraversalState() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TraversalState(-1));
+        TraversalState state = new TraversalState(3);
+        assertEquals(3, state.nodeCount());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(state.getDistance(i) == Double.POSITIVE_INFINITY);
+            assertEquals(TraversalState.NO_PREVIOUS, state.getPrevious(i));
+            assertEquals(GraphNode.COLOR_WHITE, state.getColor(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> state.getDistance(3));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> state.setPrevious(0, 3));
+        state.setDistance(1, 2.5);
+        state.setPrevious(1, 0);
+        state.setColor(1, GraphNode.COLOR_GREY);
+        assertTrue(state.getDistance(1) == 2.5);
+        assertEquals(0, state.getPrevious(1));
+        assertEquals(GraphNode.COLOR_GREY, state.getColor(1));
+    }
+
+    @Test
+    final void testCopyTo() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        g.addNode(a);
+        g.addNode(b);
+        TraversalState state = new TraversalState(2);
+        assertThrows(NullPointerException.class, () -> state.copyTo(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TraversalState(3).copyTo(g));
+        state.setDistance(0, 0);
+        state.setColor(0, GraphNode.COLOR_BLACK);
+        state.setDistance(1, 4);
+        state.setPrevious(1, 0);
+        state.copyTo(g);
+        assertTrue(a.getFloatingPointDistance() == 0);
+        assertTrue(a.getPrevious() == null);
+        assertEquals(GraphNode.COLOR_BLACK, a.getColor());
+        assertTrue(b.getFloatingPointDistance() == 4);
+        assertTrue(b.getPrevious() == a);
+        assertEquals(GraphNode.COLOR_WHITE, b.getColor());
+    }
+
+}
@@ -1,6 +1,9 @@
 package it.unicam.cs.asdl2122.mp2;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 //ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
@@ -9,7 +12,10 @@ import java.util.Set;
  * Classe singoletto che realizza un calcolatore delle componenti connesse di un
  * grafo non orientato utilizzando una struttura dati efficiente (fornita dalla
  * classe {@ForestDisjointSets<GraphNode<L>>}) per gestire insiemi disgiunti di
- * nodi del grafo che sono, alla fine del calcolo, le componenti connesse.
+ * nodi del grafo che sono, alla fine del calcolo, le componenti connesse. Se il
+ * grafo supporta gli indici dei nodi (si veda {@code Graph.hasNodeIndices()})
+ * gli insiemi disgiunti sono gestiti sugli indici con la classe
+ * {@code IntDisjointSets}.
  * 
  * @author Luca Tesei (template) Enrico Ulissi enrico.ulissi@studenti.unicam.it (implementazione)
  *
@@ -46,6 +52,7 @@ public class UndirectedGraphConnectedComponentsComputer<L> {
     public Set<Set<GraphNode<L>>> computeConnectedComponents(Graph<L> g) {
         if(g == null) throw new NullPointerException("Grafo null");
         if(g.isDirected()) throw new IllegalArgumentException("Grafo orientato NON ammesso");
+        if (g.hasNodeIndices()) return computeWithIndices(g);
         //Pulisco il disjointset ad ogni chiamata
         f.clear();
 
@@ -65,4 +72,29 @@ public class UndirectedGraphConnectedComponentsComputer<L> {
         }
         return result;
     }
+
+    /*
+     * Versione sugli indici dei nodi: le unioni lavorano su array di interi e
+     * le componenti vengono raccolte con un solo passaggio sui nodi,
+     * raggruppandoli per rappresentante
+     */
+    private Set<Set<GraphNode<L>>> computeWithIndices(Graph<L> g) {
+        int n = g.nodeCount();
+        IntDisjointSets sets = new IntDisjointSets(n);
+        for(GraphEdge<L> edge : g.getEdges()) {
+            sets.union(g.getNodeIndexOf(edge.getNode1()), g.getNodeIndexOf(edge.getNode2()));
+        }
+        //components.get(r) è la componente il cui rappresentante ha indice r, null se r non è un rappresentante
+        List<Set<GraphNode<L>>> components = new ArrayList<>(Collections.<Set<GraphNode<L>>>nCopies(n, null));
+        for(int i = 0; i < n; i++) {
+            int r = sets.findSet(i);
+            if(components.get(r) == null) components.set(r, new HashSet<GraphNode<L>>());
+            components.get(r).add(g.getNode(i));
+        }
+        Set<Set<GraphNode<L>>> result = new HashSet<>();
+        for(Set<GraphNode<L>> component : components) {
+            if(component != null) result.add(component);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,555 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2122.mp2;
+
+import java.util.*;
+
+// ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato tramite una matrice di
+ * adiacenza dei pesi, pensata per grafi densi. Non sono accettate etichette
+ * dei nodi null e non sono accettate etichette duplicate nei nodi (che in quel
+ * caso sono lo stesso nodo).
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento e, dopo la cancellazione di un nodo, gli indici dei nodi
+ * successivi vengono decrementati di uno, come in
+ * {@code AdjacencyMatrixUndirectedGraph<L>}.
+ *
+ * A differenza di {@code AdjacencyMatrixUndirectedGraph<L>} la matrice non
+ * contiene oggetti GraphEdge<L> ma solo i pesi degli archi, memorizzati in un
+ * unico array di double. Dato che il grafo non è orientato si memorizza solo
+ * il triangolo inferiore della matrice (diagonale compresa) riga per riga: la
+ * cella i,j con j <= i si trova in posizione i * (i + 1) / 2 + j. In questo
+ * modo ogni arco occupa una sola cella e l'aggiunta di un nodo accoda una riga
+ * senza spostare le precedenti. Una cella vale {@code NO_EDGE} se i due nodi
+ * non sono collegati, {@code Double.NaN} se sono collegati da un arco non
+ * pesato e il peso dell'arco negli altri casi.
+ *
+ * Gli oggetti GraphEdge<L> vengono creati solo quando sono richiesti tramite i
+ * metodi di {@code Graph<L>}. Sono quindi copie: modificare il peso di un arco
+ * restituito non modifica il grafo. Gli algoritmi che vogliono leggere i pesi
+ * senza creare oggetti possono usare {@code getWeight(int, int)}.
+ *
+ * A causa della dimensione massima degli array Java il grafo può contenere al
+ * più 65535 nodi.
+ *
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class WeightMatrixUndirectedGraph<L> extends Graph<L> {
+
+    /**
+     * Valore di una cella della matrice dei pesi che indica l'assenza di un
+     * arco. Per questo motivo non è possibile inserire archi con questo peso.
+     */
+    public static final double NO_EDGE = Double.NEGATIVE_INFINITY;
+
+    /*
+     * Numero massimo di nodi, oltre il quale il triangolo della matrice non è
+     * più indicizzabile con un int
+     */
+    private static final int MAX_NODES = 65535;
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Associazione inversa: in posizione i si trova il nodo con indice i
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione di ogni etichetta con l'indice del nodo che la porta
+     */
+    protected Map<L, Integer> labelsIndex;
+
+    /*
+     * Triangolo inferiore della matrice dei pesi memorizzato per righe. La
+     * lunghezza dell'array è la capacità corrente, di cui sono usate solo le
+     * prime nodeCount() * (nodeCount() + 1) / 2 celle.
+     */
+    protected double[] weights;
+
+    /*
+     * Numero di archi attualmente presenti nel grafo
+     */
+    protected int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public WeightMatrixUndirectedGraph() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labelsIndex = new HashMap<L, Integer>();
+        this.weights = new double[0];
+        this.edges = 0;
+    }
+
+    /*
+     * Posizione nell'array dei pesi della cella i,j della matrice. Dato che la
+     * matrice è simmetrica la cella i,j e la cella j,i coincidono.
+     */
+    private static int cell(int i, int j) {
+        if (i < j) return (int) ((long) j * (j + 1) / 2 + i);
+        return (int) ((long) i * (i + 1) / 2 + j);
+    }
+
+    /**
+     * Restituisce il peso dell'arco tra i nodi con gli indici dati leggendolo
+     * direttamente dalla matrice, senza creare oggetti.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return il peso dell'arco tra i due nodi, {@code Double.NaN} se l'arco
+     *         non è pesato, {@code NO_EDGE} se i due nodi non sono collegati
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due indici è
+     *                                       fuori dall'intervallo
+     *                                       <code>[0, this.nodeCount() - 1]</code>
+     */
+    public double getWeight(int i, int j) {
+        if (i < 0 || i >= nodeCount() || j < 0 || j >= nodeCount())
+            throw new IndexOutOfBoundsException("Almeno un indice di getWeight è fuori dall'intervallo " +
+                    "[0, this.nodeCount() - 1]");
+        return weights[cell(i, j)];
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edges;
+    }
+
+    @Override
+    public void clear() {
+        nodesIndex.clear();
+        nodes.clear();
+        labelsIndex.clear();
+        //Libero anche la memoria della matrice
+        weights = new double[0];
+        edges = 0;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo da aggiungere è null");
+
+        if (nodesIndex.containsKey(node)) return false;
+        int index = nodes.size();
+        if (index == MAX_NODES) throw new IllegalStateException("Raggiunto il numero massimo di nodi");
+        //La nuova riga occupa le celle da index * (index + 1) / 2 a (index + 1) * (index + 2) / 2 - 1
+        int start = cell(index, 0);
+        int end = cell(index, index) + 1;
+        if (end > weights.length) {
+            //Raddoppio la capacità, così il costo delle copie è ammortizzato
+            weights = Arrays.copyOf(weights, (int) Math.min(Math.max(end, 2L * weights.length), Integer.MAX_VALUE - 8));
+        }
+        Arrays.fill(weights, start, end, NO_EDGE);
+        nodesIndex.put(node, index);
+        labelsIndex.put(node.getLabel(), index);
+        nodes.add(node);
+        return true;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(L label) {
+        if (label == null) throw new NullPointerException("Label di addNode null");
+        //Se l'etichetta è già presente evito di creare il nodo
+        if (labelsIndex.containsKey(label)) return false;
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo del removeNode è null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo del removeNode non fa " +
+                "parte del grafo");
+
+        int index = nodesIndex.remove(node);
+        labelsIndex.remove(node.getLabel());
+        int n = nodes.size();
+        //Tolgo dal conteggio gli archi del nodo
+        for (int j = 0; j < n; j++) {
+            if (weights[cell(index, j)] != NO_EDGE) edges--;
+        }
+        //Compatto il triangolo togliendo la riga e la colonna del nodo: le righe precedenti restano dove sono, le
+        //successive scalano indietro saltando la colonna index. La scrittura non supera mai la lettura, quindi posso
+        //lavorare sullo stesso array
+        int write = cell(index, 0);
+        for (int i = index + 1; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (j != index) weights[write++] = weights[cell(i, j)];
+            }
+        }
+        nodes.remove(index);
+        //Aggiorno gli indici dei soli nodi successivi a quello rimosso
+        for (int i = index; i < nodes.size(); i++) {
+            nodesIndex.put(nodes.get(i), i);
+            labelsIndex.put(nodes.get(i).getLabel(), i);
+        }
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(L label) {
+        if (label == null) throw new NullPointerException("Il label di removeNode è null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Nessun nodo del grafo ha l'etichetta data");
+        removeNode(nodes.get(index));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(int i) {
+        //Eventuali eccezioni generate dall'indice vengono lanciate da getNode
+        removeNode(getNode(i));
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo del getNode è null");
+        Integer index = nodesIndex.get(node);
+        //Restituisco l'istanza memorizzata nel grafo, non quella passata
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label) {
+        if (label == null) throw new NullPointerException("Etichetta di getNode null");
+        Integer index = labelsIndex.get(label);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice fuori dall'intervallo [0, this.nodeCount() - 1]");
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Node del getNodeIndexOf null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null) throw new NullPointerException("label di getNodeIndexOf null");
+        Integer index = labelsIndex.get(label);
+        if (index == null) throw new IllegalArgumentException("Il nodo non esiste in questo grafo");
+        return index;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Arco del addEdge null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi dell'arco in addEdge non esiste nel grafo");
+        if (isDirected() != edge.isDirected()) throw new IllegalArgumentException("l'arco è orientato e questo grafo " +
+                "non è orientato o viceversa");
+        if (edge.getWeight() == NO_EDGE) throw new IllegalArgumentException("Il peso dell'arco coincide con il " +
+                "valore che indica l'assenza di archi");
+
+        int c = cell(nodesIndex.get(edge.getNode1()), nodesIndex.get(edge.getNode2()));
+        //Controllo se l'arco già esiste
+        if (weights[c] != NO_EDGE) return false;
+        //Se l'arco non è pesato memorizzo Double.NaN, che è diverso da NO_EDGE
+        weights[c] = edge.getWeight();
+        edges++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Uno dei due nodi dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+                                   double weight) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Uno dei due nodi dell'addEdge è null");
+        //Eccezioni controllate da addEdge(edge)
+        return addEdge(new GraphEdge<>(node1, node2, isDirected(), weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle due etichette dell'addEdge è null");
+        return addWeightedEdge(label1, label2, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle due etichette dell'addEdge è null");
+        Integer index1 = labelsIndex.get(label1);
+        Integer index2 = labelsIndex.get(label2);
+        if (index1 == null || index2 == null)
+            throw new IllegalArgumentException("Almeno uno dei due nodi dell'arco in addEdge non esiste nel grafo");
+        //Eccezioni sul peso controllate da addWeightedEdge(int, int, double)
+        return addWeightedEdge(index1.intValue(), index2.intValue(), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j) {
+        //Eccezioni controllate da addWeightedEdge(int, int, double)
+        return addWeightedEdge(i, j, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight) {
+        if (i < 0 || i >= nodeCount() || j < 0 || j >= nodeCount())
+            throw new IndexOutOfBoundsException("Almeno un indice di addEdge è fuori dall'intervallo " +
+                    "[0, this.nodeCount() - 1]");
+        if (weight == NO_EDGE) throw new IllegalArgumentException("Il peso dell'arco coincide con il valore che " +
+                "indica l'assenza di archi");
+        //Scrivo direttamente nella matrice senza creare l'arco
+        int c = cell(i, j);
+        if (weights[c] != NO_EDGE) return false;
+        weights[c] = weight;
+        edges++;
+        return true;
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("L'arco di removeEdge è null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi dell'arco non appartengono al grafo");
+
+        int c = cell(nodesIndex.get(edge.getNode1()), nodesIndex.get(edge.getNode2()));
+        if (weights[c] == NO_EDGE) throw new IllegalArgumentException("l'arco non esiste nel grafo");
+        weights[c] = NO_EDGE;
+        edges--;
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Almeno uno dei nodi di removeEdge è null");
+        //Le altre eccezioni vengono controllate dal primo removeEdge
+        removeEdge(new GraphEdge<L>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2) {
+        if (label1 == null || label2 == null)
+            throw new NullPointerException("Almeno una delle etichette di removeEdge è null");
+        //Altre eccezioni controllate da removeEdge(GraphEdge)
+        removeEdge(new GraphEdge<L>(new GraphNode<>(label1), new GraphNode<>(label2), isDirected()));
+    }
+
+    @Override
+    public void removeEdge(int i, int j) {
+        //Eventuali eccezioni vengono lanciate da getNode.
+        removeEdge(new GraphEdge<L>(getNode(i), getNode(j), isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Edge di getEdge null");
+        if (!nodesIndex.containsKey(edge.getNode1()) || !nodesIndex.containsKey(edge.getNode2())) throw new
+                IllegalArgumentException("Almeno uno dei due nodi non esiste nel grafo");
+        return getEdge(nodesIndex.get(edge.getNode1()).intValue(), nodesIndex.get(edge.getNode2()).intValue());
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Almeno uno dei nodi di getEdge è null");
+        //Altre eccezioni controllate da getEdge(edge)
+        return getEdge(new GraphEdge<L>(node1, node2, isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2) {
+        if (label1 == null || label2 == null) throw new NullPointerException("Almeno una etichetta di getEdge è null");
+        //Altre eccezioni controllate da getEdge(edge)
+        return getEdge(new GraphEdge<L>(new GraphNode<L>(label1), new GraphNode<L>(label2), isDirected()));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j) {
+        //Eventuali eccezioni sugli indici vengono lanciate da getWeight
+        double weight = getWeight(i, j);
+        if (weight == NO_EDGE) return null;
+        //L'arco viene creato solo ora, con i nodi memorizzati nel grafo
+        return new GraphEdge<L>(nodes.get(i), nodes.get(j), isDirected(), weight);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo di getAdjacentNodesOf è null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Il nodo non esiste");
+        return getAdjacentNodesOf(nodesIndex.get(node).intValue());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label) {
+        if (label == null) throw new NullPointerException("Etichetta null");
+        if (!labelsIndex.containsKey(label)) throw new IllegalArgumentException("Il nodo non esiste");
+        return getAdjacentNodesOf(labelsIndex.get(label).intValue());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+        Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
+        for (int j = 0; j < nodes.size(); j++) {
+            if (weights[cell(i, j)] != NO_EDGE) result.add(nodes.get(j));
+        }
+        return result;
+    }
+
+    /*
+     * Legge i pesi della riga direttamente dall'array, senza creare archi:
+     * le celle (i, j) con j <= i sono contigue, le altre si trovano nelle
+     * righe successive del triangolo
+     */
+    @Override
+    public void forEachNeighbour(int i, IntDoubleConsumer action) {
+        if (action == null) throw new NullPointerException("Operazione null");
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+        int base = cell(i, 0);
+        for (int j = 0; j <= i; j++) {
+            double weight = weights[base + j];
+            if (weight != NO_EDGE) action.accept(j, weight);
+        }
+        for (int j = i + 1; j < nodes.size(); j++) {
+            double weight = weights[cell(j, i)];
+            if (weight != NO_EDGE) action.accept(j, weight);
+        }
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("nodo null");
+        if (!nodesIndex.containsKey(node)) throw new IllegalArgumentException("Nodo non presente");
+        return getEdgesOf(nodesIndex.get(node).intValue());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label) {
+        if (label == null) throw new NullPointerException("etichetta nulla");
+        if (!labelsIndex.containsKey(label)) throw new IllegalArgumentException("Nodo non presente");
+        return getEdgesOf(labelsIndex.get(label).intValue());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i) {
+        if (i < 0 || i >= nodeCount())
+            throw new IndexOutOfBoundsException("Indice minore di 0 o maggiore o uguale a nodeCount()");
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        for (int j = 0; j < nodes.size(); j++) {
+            double weight = weights[cell(i, j)];
+            if (weight != NO_EDGE) result.add(new GraphEdge<L>(nodes.get(i), nodes.get(j), isDirected(), weight));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        //Scorro il triangolo una sola volta, ogni cella corrisponde a un arco diverso
+        int c = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j <= i; j++, c++) {
+                if (weights[c] != NO_EDGE)
+                    result.add(new GraphEdge<L>(nodes.get(i), nodes.get(j), isDirected(), weights[c]));
+            }
+        }
+        return result;
+    }
+}
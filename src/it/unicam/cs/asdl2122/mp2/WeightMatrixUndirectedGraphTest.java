@@ -0,0 +1,73 @@
+package it.unicam.cs.asdl2122.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe WeightMatrixUndirectedGraph.
+ * 
+ * @author Enrico Ulissi enrico.ulissi@studenti.unicam.it
+ */
+class WeightMatrixUndirectedGraphTest extends AbstractUndirectedGraphTest {
+
+    @Override
+    Graph<String> createGraph() {
+        return new WeightMatrixUndirectedGraph<String>();
+    }
+
+    @Test
+    final void testWeightMatrixUndirectedGraph() {
+        Graph<String> g = new WeightMatrixUndirectedGraph<String>();
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testGetWeight() {
+        WeightMatrixUndirectedGraph<String> g = new WeightMatrixUndirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getWeight(0, 0));
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addWeightedEdge("a", "b", 2.5);
+        g.addEdge("c", "c");
+        assertTrue(g.getWeight(0, 1) == 2.5);
+        assertTrue(g.getWeight(1, 0) == 2.5);
+        assertTrue(Double.isNaN(g.getWeight(2, 2)));
+        assertTrue(g.getWeight(0, 2) == WeightMatrixUndirectedGraph.NO_EDGE);
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getWeight(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> g.addWeightedEdge(
+                "a", "c", WeightMatrixUndirectedGraph.NO_EDGE));
+        // Gli archi restituiti sono copie
+        g.getEdge("a", "b").setWeight(7);
+        assertTrue(g.getWeight(0, 1) == 2.5);
+    }
+
+    @Test
+    final void testRemoveNodeCompactsMatrix() {
+        WeightMatrixUndirectedGraph<Integer> g = new WeightMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 20; i++)
+            g.addNode(i);
+        for (int i = 0; i < 20; i++)
+            for (int j = i; j < 20; j += 3)
+                g.addWeightedEdge(i, j, 100 * i + j);
+        int edges = g.edgeCount();
+        int removedEdges = g.getEdgesOf(7).size();
+        g.removeNode(Integer.valueOf(7));
+        assertEquals(edges - removedEdges, g.edgeCount());
+        for (int i = 0; i < 19; i++) {
+            for (int j = 0; j < 19; j++) {
+                int li = g.getNode(i).getLabel();
+                int lj = g.getNode(j).getLabel();
+                int min = Math.min(li, lj);
+                int max = Math.max(li, lj);
+                if ((max - min) % 3 == 0)
+                    assertTrue(g.getWeight(i, j) == 100 * min + max);
+                else
+                    assertTrue(g.getWeight(i, j) == WeightMatrixUndirectedGraph.NO_EDGE);
+            }
+        }
+        assertEquals(g.edgeCount(), g.getEdges().size());
+    }
+
+}